@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Measures the time from launching the JVM to the first answered HTTP request, for the extracted application
+# started plainly, with Spring AOT, and with Spring AOT plus the CDS archive. Needs `./gradlew cdsArchive` first.
+#
+# Usage: scripts/measure-startup.sh [runs]     (5 runs per mode by default)
+# Every run uses a fresh in-memory database; the first request is answered with 401 until the demo data is seeded,
+# which still goes through the whole stack.
+set -euo pipefail
+
+runs="${1:-5}"
+port="${PORT:-18080}"
+root="$(cd "$(dirname "$0")/.." && pwd)"
+cds="$root/build/cds"
+jar="$(ls "$cds"/application/*.jar 2>/dev/null | head -n 1 || true)"
+java="${JAVA:-java}"
+
+if [[ -z "$jar" || ! -f "$cds/application.jsa" ]]; then
+  echo "CDS archive not found, run ./gradlew cdsArchive first" >&2
+  exit 1
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+# Prints the milliseconds until http://localhost:$port answers, for one launch with the given JVM options
+measure() {
+  local index_dir
+  index_dir="$(mktemp -d)"
+  local start
+  start="$(now_ms)"
+
+  "$java" "$@" -jar "$jar" --server.port="$port" --spring.datasource.url="jdbc:h2:mem:startup-$RANDOM" \
+    --todo.search.index-dir="$index_dir" --todo.startup.log-slowest-steps=0 >/dev/null 2>&1 &
+  local pid=$!
+
+  until [[ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$port/api/v1/categories")" != "000" ]]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited before answering" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  local elapsed=$(( $(now_ms) - start ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -rf "$index_dir"
+  echo "$elapsed"
+}
+
+report() {
+  local name="$1"
+  shift
+  local times=()
+  for ((i = 0; i < runs; i++)); do
+    times+=("$(measure "$@")")
+  done
+
+  local sorted
+  sorted="$(printf '%s\n' "${times[@]}" | sort -n)"
+  local median
+  median="$(echo "$sorted" | sed -n "$(( (runs + 1) / 2 ))p")"
+  printf '%-10s median %6d ms   runs: %s\n' "$name" "$median" "$(echo $sorted)"
+}
+
+echo "Time to first request, $runs runs each"
+report "plain"
+report "aot" -Dspring.aot.enabled=true
+report "aot+cds" -Dspring.aot.enabled=true -XX:SharedArchiveFile="$cds/application.jsa"
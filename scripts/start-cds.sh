@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Starts the application with Spring AOT and the CDS archive built by `./gradlew cdsArchive`.
+# Extra arguments are passed to the application, e.g. --server.port=8081.
+set -euo pipefail
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+cds="$root/build/cds"
+jar="$(ls "$cds"/application/*.jar 2>/dev/null | head -n 1 || true)"
+
+if [[ -z "$jar" || ! -f "$cds/application.jsa" ]]; then
+  echo "CDS archive not found, run ./gradlew cdsArchive first" >&2
+  exit 1
+fi
+
+exec "${JAVA:-java}" -XX:SharedArchiveFile="$cds/application.jsa" -Dspring.aot.enabled=true ${JAVA_OPTS:-} -jar "$jar" "$@"
@@ -2,12 +2,20 @@ package ch.cern.todo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class TodoApplication {
 
+	/**
+	 * Startup steps kept for the {@code startup} actuator endpoint and the startup timings log.
+	 */
+	static final int STARTUP_STEP_CAPACITY = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(TodoApplication.class, args);
+		final SpringApplication application = new SpringApplication(TodoApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
 }
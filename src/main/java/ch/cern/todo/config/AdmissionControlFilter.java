@@ -0,0 +1,147 @@
+package ch.cern.todo.config;
+
+import ch.cern.todo.exceptions.ErrorDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code permits} requests run at the same time and makes the others wait in a fair queue for up to
+ * {@code timeout}, after which they are answered with {@code 503 Service Unavailable}.
+ * <p>
+ * With virtual threads the number of concurrent requests is no longer bounded by a thread pool, and nearly all of
+ * them need one of the few database connections. Sized to the connection pool, the semaphore keeps the surplus parked
+ * on a cheap queue in front of the application, instead of piling up inside the connection pool until its own timeout
+ * fails them half way through. A streamed response keeps its permit until the asynchronous part has completed.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final Semaphore semaphore;
+    private final int permits;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final LongAdder rejected = new LongAdder();
+
+    public AdmissionControlFilter(final int permits, final Duration timeout, final ObjectMapper objectMapper) {
+        this.semaphore = new Semaphore(permits, true);
+        this.permits = permits;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+
+        boolean releaseNow = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                releaseNow = false;
+            }
+        } finally {
+            if (releaseNow) {
+                semaphore.release();
+            }
+        }
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int waitingRequests() {
+        return semaphore.getQueueLength();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("todo.admission.active", this, filter -> filter.getPermits() - filter.availablePermits())
+                .description("Requests currently admitted")
+                .register(registry);
+        Gauge.builder("todo.admission.waiting", this, AdmissionControlFilter::waitingRequests)
+                .description("Requests waiting for admission")
+                .register(registry);
+        FunctionCounter.builder("todo.admission.rejected", this, AdmissionControlFilter::rejectedCount)
+                .description("Requests rejected after waiting for admission too long")
+                .register(registry);
+    }
+
+    private boolean acquire() {
+        try {
+            return semaphore.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                "Too many concurrent requests, please retry later.",
+                "uri=" + request.getRequestURI(),
+                "SERVICE_UNAVAILABLE"
+        );
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+
+    /**
+     * {@code onComplete} is called exactly once, also after an error or timeout.
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            semaphore.release();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+        }
+    }
+}
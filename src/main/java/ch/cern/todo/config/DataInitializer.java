@@ -3,47 +3,144 @@ package ch.cern.todo.config;
 import ch.cern.todo.entity.Category;
 import ch.cern.todo.entity.Task;
 import ch.cern.todo.entity.User;
+import ch.cern.todo.mapper.TaskCategoryConvertor;
+import ch.cern.todo.mapper.TaskConvertor;
 import ch.cern.todo.repository.CategoryRepository;
 import ch.cern.todo.repository.TaskRepository;
 import ch.cern.todo.repository.UserRepository;
-import jakarta.annotation.PostConstruct;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import ch.cern.todo.service.ModificationVersions;
+import ch.cern.todo.service.PasswordHashingService;
+import ch.cern.todo.service.SearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Seeds the demo users, categories and tasks into an empty database. Replaced by {@link DatasetGenerator} under the
+ * {@code dataset} profile.
+ * <p>
+ * Existing data is kept across restarts; {@code todo.seed.reset=true} wipes it first with bulk deletes, which never
+ * load the rows. The only slow part of seeding is hashing the two passwords, so it is started on the hashing pool
+ * while the application finishes starting, and the rows are written once it is ready. The demo accounts can
+ * therefore appear a moment after the application reports ready.
+ */
+@Slf4j
 @Component
-public class DataInitializer {
+@Profile("!dataset")
+public class DataInitializer implements ApplicationRunner {
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final CategoryRepository categoryRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final SearchService searchService;
+    private final TaskConvertor taskConvertor;
+    private final TaskCategoryConvertor taskCategoryConvertor;
+    private final ModificationVersions modificationVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final boolean reset;
+
+    private volatile CompletableFuture<List<String>> passwords;
 
     public DataInitializer(final UserRepository userRepository, final TaskRepository taskRepository,
-                           final CategoryRepository categoryRepository, final PasswordEncoder passwordEncoder) {
+                           final CategoryRepository categoryRepository, final PasswordHashingService passwordHashingService,
+                           final SearchService searchService, final TaskConvertor taskConvertor,
+                           final TaskCategoryConvertor taskCategoryConvertor,
+                           final ModificationVersions modificationVersions,
+                           final PlatformTransactionManager transactionManager, final TaskExecutor taskExecutor,
+                           @Value("${todo.seed.reset:false}") final boolean reset) {
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
         this.categoryRepository = categoryRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.searchService = searchService;
+        this.taskConvertor = taskConvertor;
+        this.taskCategoryConvertor = taskCategoryConvertor;
+        this.modificationVersions = modificationVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.reset = reset;
     }
 
-    @PostConstruct
-    public void init() {
-        userRepository.deleteAll();
-        categoryRepository.deleteAll();
-        taskRepository.deleteAll();
+    /**
+     * Runs before the application is ready. A reset only empties the search index; {@link SearchService} rebuilds an
+     * empty index once the application is ready.
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        final long start = System.nanoTime();
+
+        if (reset) {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.deleteAllInBatch();
+                categoryRepository.deleteAllInBatch();
+                userRepository.deleteAllInBatch();
+            });
+            searchService.clear();
+        }
+
+        final boolean empty = userRepository.count() == 0;
+
+        if (empty) {
+            final CompletableFuture<String> adminPassword = passwordHashingService.encodeAsync("admin123");
+            final CompletableFuture<String> userPassword = passwordHashingService.encodeAsync("test123");
+            passwords = adminPassword.thenCombine(userPassword, List::of);
+        }
+
+        log.info("Data initializer {}found {} database in {} ms", reset ? "reset and " : "", empty ? "an empty" : "an existing",
+                (System.nanoTime() - start) / 1_000_000);
+    }
 
-        if (userRepository.count() == 0) {
+    /**
+     * Writes the seed data once the passwords are hashed, on the application task executor so that the hashing pool
+     * is not held by database work. Runs after the search index was rebuilt, so the seeded rows are indexed here and
+     * not twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedWhenReady() {
+        final CompletableFuture<List<String>> pending = passwords;
+        if (pending == null) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        pending.thenAcceptAsync(hashes -> seed(hashes.get(0), hashes.get(1)), taskExecutor)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        log.error("Seeding the demo data failed", error);
+                    } else {
+                        log.info("Seeded the demo data {} ms after the application was ready", (System.nanoTime() - start) / 1_000_000);
+                    }
+                });
+    }
+
+    private void seed(final String adminPassword, final String userPassword) {
+        final List<Category> categories = new ArrayList<>();
+        final List<Task> tasks = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
             final User admin = User.builder()
                     .username("admin")
-                    .password(passwordEncoder.encode("admin123"))
+                    .password(adminPassword)
                     .role("ROLE_ADMIN")
                     .build();
             final User user = User.builder()
                     .username("user")
-                    .password(passwordEncoder.encode("test123"))
+                    .password(userPassword)
                     .role("ROLE_USER")
                     .build();
 
@@ -53,13 +150,18 @@ public class DataInitializer {
             final Category personal = Category.builder().name("Personal").description("Personal tasks").createdBy(user).build();
             final Category gym = Category.builder().name("Gym").description("Gym tasks").createdBy(user).build();
             final Category financial = Category.builder().name("Financial").description("Financial tasks").createdBy(admin).build();
-            categoryRepository.saveAll(List.of(work, personal, gym, financial));
+            categories.addAll(categoryRepository.saveAll(List.of(work, personal, gym, financial)));
 
             final Task task1 = Task.builder().name("Complete report").description("Finish project report").deadline(LocalDate.from(LocalDateTime.now().plusDays(2))).category(work).createdBy(admin).build();
             final Task task2 = Task.builder().name("Buy groceries").description("Milk, eggs, bread").deadline(LocalDate.from(LocalDateTime.now().plusDays(5))).category(personal).createdBy(user).build();
             final Task task3 = Task.builder().name("Go to the gym").description("18 gym").deadline(LocalDate.from(LocalDateTime.now().plusDays(2))).category(gym).createdBy(user).build();
             final Task task4 = Task.builder().name("Check the balance").description("analysis the report").deadline(LocalDate.from(LocalDateTime.now().plusDays(10))).category(financial).createdBy(admin).build();
-            taskRepository.saveAll(List.of(task1, task2, task3, task4));
-        }
+            tasks.addAll(taskRepository.saveAll(List.of(task1, task2, task3, task4)));
+        });
+
+        categories.forEach(category -> searchService.indexCategory(taskCategoryConvertor.convertToSearchDocument(category)));
+        searchService.indexTasks(tasks.stream().map(taskConvertor::convertToSearchDocument).toList());
+        modificationVersions.categoriesChanged();
+        modificationVersions.allTasksChanged();
     }
 }
@@ -0,0 +1,248 @@
+package ch.cern.todo.config;
+
+import ch.cern.todo.service.CategoryCache;
+import ch.cern.todo.service.ModificationVersions;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StopWatch;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a large synthetic dataset for load and scaling tests, enabled with the {@code dataset}
+ * profile.
+ * <p>
+ * Task owners and categories are drawn from Zipf distributions, so a few users and categories hold most of the tasks
+ * (user and category 1 are the largest), and deadlines are spread evenly over {@code deadline-years} centred on
+ * {@code reference-date}. Everything is derived from the settings, so the same settings always produce the same rows;
+ * only the generated ids depend on the database. Rows are written with JDBC batches, one transaction per batch,
+ * bypassing Hibernate; all users share one password hash because hashing each would take longer than the inserts.
+ * <p>
+ * Runs once. The {@code dataset-admin} user is written last and marks a complete dataset; if dataset users exist
+ * without it, an earlier run was interrupted and the application refuses to start on the partial data.
+ */
+@Slf4j
+@Component
+@Profile("dataset")
+public class DatasetGenerator implements ApplicationRunner {
+
+    static final String USER_PREFIX = "dataset-user-";
+    static final String CATEGORY_PREFIX = "dataset-category-";
+    static final String TASK_PREFIX = "dataset-task-";
+    static final String ADMIN_USERNAME = "dataset-admin";
+    static final String PASSWORD = "dataset";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CategoryCache categoryCache;
+    private final ModificationVersions modificationVersions;
+    private final int userCount;
+    private final int categoryCount;
+    private final long taskCount;
+    private final long seed;
+    private final double userSkew;
+    private final double categorySkew;
+    private final int deadlineYears;
+    private final LocalDate referenceDate;
+    private final int batchSize;
+
+    public DatasetGenerator(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager,
+                            final PasswordEncoder passwordEncoder, final EntityManagerFactory entityManagerFactory,
+                            final CategoryCache categoryCache, final ModificationVersions modificationVersions,
+                            @Value("${todo.dataset.users:10000}") final int userCount,
+                            @Value("${todo.dataset.categories:1000}") final int categoryCount,
+                            @Value("${todo.dataset.tasks:10000000}") final long taskCount,
+                            @Value("${todo.dataset.seed:42}") final long seed,
+                            @Value("${todo.dataset.user-skew:1.1}") final double userSkew,
+                            @Value("${todo.dataset.category-skew:1.0}") final double categorySkew,
+                            @Value("${todo.dataset.deadline-years:4}") final int deadlineYears,
+                            @Value("${todo.dataset.reference-date:2025-01-01}") final String referenceDate,
+                            @Value("${todo.dataset.batch-size:5000}") final int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+        this.categoryCache = categoryCache;
+        this.modificationVersions = modificationVersions;
+        this.userCount = userCount;
+        this.categoryCount = categoryCount;
+        this.taskCount = taskCount;
+        this.seed = seed;
+        this.userSkew = userSkew;
+        this.categorySkew = categorySkew;
+        this.deadlineYears = deadlineYears;
+        this.referenceDate = LocalDate.parse(referenceDate);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (count("SELECT COUNT(*) FROM users WHERE username = ?", ADMIN_USERNAME) > 0) {
+            log.info("Synthetic dataset already present, skipping generation");
+            return;
+        }
+        if (count("SELECT COUNT(*) FROM users WHERE username LIKE ?", USER_PREFIX + "%") > 0) {
+            throw new IllegalStateException("Synthetic dataset is incomplete, an earlier generation was interrupted. "
+                    + "Delete the dataset database and start again.");
+        }
+
+        generate();
+    }
+
+    public void generate() {
+        log.info("Generating {} users, {} categories and {} tasks with seed {}", userCount, categoryCount, taskCount, seed);
+
+        final SplittableRandom random = new SplittableRandom(seed);
+        final StopWatch stopWatch = new StopWatch("dataset");
+
+        stopWatch.start("users");
+        final long[] userIds = insertUsers();
+        stopWatch.stop();
+
+        stopWatch.start("categories");
+        final ZipfSampler owners = new ZipfSampler(userIds.length, userSkew);
+        final long[] categoryIds = insertCategories(owners, userIds, random);
+        stopWatch.stop();
+
+        stopWatch.start("tasks");
+        insertTasks(owners, userIds, new ZipfSampler(categoryIds.length, categorySkew), categoryIds, random);
+        stopWatch.stop();
+
+        insertBatch("INSERT INTO users (username, password, role) VALUES (?, ?, ?)",
+                List.<Object[]>of(new Object[]{ADMIN_USERNAME, passwordEncoder.encode(PASSWORD), "ROLE_ADMIN"}));
+
+        stopWatch.start("analyze");
+        jdbcTemplate.execute("ANALYZE");
+        stopWatch.stop();
+
+        entityManagerFactory.getCache().evictAll();
+        categoryCache.invalidateAll();
+        modificationVersions.categoriesChanged();
+        modificationVersions.allTasksChanged();
+
+        log.info("Synthetic dataset generated in {} s\n{}", Math.round(stopWatch.getTotalTimeSeconds()), stopWatch.prettyPrint());
+    }
+
+    private long[] insertUsers() {
+        final String password = passwordEncoder.encode(PASSWORD);
+        final List<Object[]> rows = new ArrayList<>(userCount);
+        for (int rank = 0; rank < userCount; rank++) {
+            rows.add(new Object[]{USER_PREFIX + pad(rank + 1, userCount), password, "ROLE_USER"});
+        }
+        insertInBatches("INSERT INTO users (username, password, role) VALUES (?, ?, ?)", rows);
+
+        return ids("SELECT id FROM users WHERE username LIKE ? ORDER BY username", USER_PREFIX);
+    }
+
+    private long[] insertCategories(final ZipfSampler owners, final long[] userIds, final SplittableRandom random) {
+        final List<Object[]> rows = new ArrayList<>(categoryCount);
+        for (int rank = 0; rank < categoryCount; rank++) {
+            final String name = CATEGORY_PREFIX + pad(rank + 1, categoryCount);
+            rows.add(new Object[]{name, "Synthetic category " + (rank + 1), userIds[owners.sample(random)]});
+        }
+        insertInBatches("INSERT INTO task_categories (name, description, user_id) VALUES (?, ?, ?)", rows);
+
+        return ids("SELECT id FROM task_categories WHERE name LIKE ? ORDER BY name", CATEGORY_PREFIX);
+    }
+
+    /**
+     * Task ids are taken from {@code tasks_seq} up front and the sequence is moved past them afterwards, so that
+     * tasks created later through Hibernate do not collide. Names are numbered by generation order, not by id.
+     */
+    private void insertTasks(final ZipfSampler owners, final long[] userIds, final ZipfSampler categories,
+                             final long[] categoryIds, final SplittableRandom random) {
+        final Long firstId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR tasks_seq", Long.class);
+        final LocalDate firstDeadline = referenceDate.minusMonths(6L * deadlineYears);
+        final int deadlineDays = Math.max(1, 365 * deadlineYears);
+        final long progressStep = Math.max(1, taskCount / 10);
+
+        final List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long i = 0; i < taskCount; i++) {
+            batch.add(new Object[]{
+                    firstId + i,
+                    TASK_PREFIX + pad(i + 1, taskCount),
+                    "Synthetic task " + (i + 1),
+                    Date.valueOf(firstDeadline.plusDays(random.nextInt(deadlineDays))),
+                    categoryIds[categories.sample(random)],
+                    userIds[owners.sample(random)]});
+
+            if (batch.size() == batchSize || i == taskCount - 1) {
+                insertBatch("INSERT INTO tasks (id, name, description, deadline, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+            if ((i + 1) % progressStep == 0) {
+                log.info("Inserted {} of {} tasks", i + 1, taskCount);
+            }
+        }
+
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (firstId + taskCount));
+    }
+
+    private void insertInBatches(final String sql, final List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            insertBatch(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private void insertBatch(final String sql, final List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+    }
+
+    private long count(final String sql, final String parameter) {
+        final Long count = jdbcTemplate.queryForObject(sql, Long.class, parameter);
+        return count == null ? 0 : count;
+    }
+
+    private long[] ids(final String sql, final String prefix) {
+        return jdbcTemplate.queryForList(sql, Long.class, prefix + "%").stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    /**
+     * Zero padded so that ordering by name is ordering by rank.
+     */
+    private static String pad(final long number, final long max) {
+        return String.format("%0" + String.valueOf(max).length() + "d", number);
+    }
+
+    /**
+     * Draws ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent}, by binary search
+     * over the precomputed cumulative weights.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulativeWeights;
+
+        ZipfSampler(final int n, final double exponent) {
+            cumulativeWeights = new double[n];
+            double total = 0;
+            for (int rank = 0; rank < n; rank++) {
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulativeWeights[rank] = total;
+            }
+        }
+
+        int sample(final SplittableRandom random) {
+            final double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+            final int index = Arrays.binarySearch(cumulativeWeights, target);
+            return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+        }
+    }
+}
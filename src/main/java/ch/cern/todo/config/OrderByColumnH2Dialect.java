@@ -0,0 +1,17 @@
+package ch.cern.todo.config;
+
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * {@link H2Dialect} that writes {@code ORDER BY} items as columns instead of select-list positions. Hibernate refers
+ * to a sort key that is also selected by its position ({@code ORDER BY 5, 1}), and H2 does not match positions against
+ * index columns: a listing sorted by deadline then reads and sorts every task of the owner instead of stopping after
+ * {@code limit} entries of {@code idx_tasks_user_deadline}.
+ */
+public class OrderByColumnH2Dialect extends H2Dialect {
+
+    @Override
+    public boolean supportsOrdinalSelectItemReference() {
+        return false;
+    }
+}
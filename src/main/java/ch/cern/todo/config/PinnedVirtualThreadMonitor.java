@@ -0,0 +1,89 @@
+package ch.cern.todo.config;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically because they block inside a
+ * {@code synchronized} block or a native frame (JDBC drivers, Hibernate internals), from the JFR
+ * {@code jdk.VirtualThreadPinned} event. Pinning longer than {@code threshold} is counted in the
+ * {@code todo.virtual.threads.pinned} timer, and the first occurrence of each call site is logged with its stack.
+ */
+@Slf4j
+public class PinnedVirtualThreadMonitor implements MeterBinder, AutoCloseable {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream recordingStream;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    public PinnedVirtualThreadMonitor(final Duration threshold) {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    public long pinnedCount() {
+        return count.sum();
+    }
+
+    public double pinnedNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionTimer.builder("todo.virtual.threads.pinned", this, PinnedVirtualThreadMonitor::pinnedCount,
+                        PinnedVirtualThreadMonitor::pinnedNanos, TimeUnit.NANOSECONDS)
+                .description("Virtual threads pinned to their carrier thread longer than the threshold")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    void onPinned(final RecordedEvent event) {
+        count.increment();
+        totalNanos.add(event.getDuration().toNanos());
+
+        final RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+
+        final String stack = stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(PinnedVirtualThreadMonitor::describe)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        final String site = stackTrace.getFrames().isEmpty() ? "" : describe(stackTrace.getFrames().get(0));
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms, further pinning at this site is only counted:\n{}",
+                    event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String describe(final RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,28 +1,42 @@
 package ch.cern.todo.config;
 
+import ch.cern.todo.security.BCryptStrengthCalibrator;
+import ch.cern.todo.security.CachingAuthenticationProvider;
+import ch.cern.todo.security.CostMatchingBCryptPasswordEncoder;
+import ch.cern.todo.security.TokenAuthenticationFilter;
+import ch.cern.todo.security.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import org.springframework.context.annotation.Bean;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
+import java.time.Duration;
+
+@Slf4j
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(final HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(final HttpSecurity http, final AuthenticationManager authenticationManager,
+                                                   final TokenService tokenService) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/v1/auth/register", "/h2-console/**").permitAll()
+                        .requestMatchers("/api/v1/auth/register", "/api/v1/auth/login", "/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                         .requestMatchers("/api/v1/categories/**", "/api/v1/tasks/**").authenticated()
                         .anyRequest().authenticated()
                 )
+                .authenticationManager(authenticationManager)
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
                 .httpBasic(basic -> {})
                 .headers(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -31,13 +45,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt encoder whose cost is either fixed through {@code todo.security.password.bcrypt-strength} or
+     * calibrated at startup to the configured target hashing time. Stored hashes with a different cost,
+     * lower or higher, are re-encoded on the next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${todo.security.password.bcrypt-strength:0}") final int strength,
+                                           @Value("${todo.security.password.target-hash-time:100ms}") final Duration targetHashTime) {
+        final int effectiveStrength = strength > 0 ? strength : BCryptStrengthCalibrator.calibrate(targetHashTime);
+        log.info("Using BCrypt strength {}", effectiveStrength);
+
+        return new CostMatchingBCryptPasswordEncoder(effectiveStrength);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(final AuthenticationConfiguration authenticationConfiguration) throws Exception {
-        return authenticationConfiguration.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(final CachingAuthenticationProvider cachingAuthenticationProvider) {
+        return new ProviderManager(cachingAuthenticationProvider);
     }
 }
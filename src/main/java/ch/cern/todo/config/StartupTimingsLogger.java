@@ -0,0 +1,59 @@
+package ch.cern.todo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs how long the application took to become ready and its slowest startup steps (bean instantiations, repository
+ * scanning, context refresh), as recorded by the {@link BufferingApplicationStartup} set up in {@code main}. The full
+ * timeline is served by the {@code startup} actuator endpoint. Steps are nested, so a step's duration includes its
+ * children.
+ */
+@Slf4j
+@Component
+public class StartupTimingsLogger {
+
+    private final int slowestSteps;
+
+    public StartupTimingsLogger(@Value("${todo.startup.log-slowest-steps:10}") final int slowestSteps) {
+        this.slowestSteps = slowestSteps;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void logTimings(final ApplicationReadyEvent event) {
+        log.info("Application ready in {} ms", event.getTimeTaken().toMillis());
+
+        if (slowestSteps <= 0
+                || !(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+
+        final String steps = startup.getBufferedTimeline().getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(slowestSteps)
+                .map(step -> String.format("%8d ms  %s%s", step.getDuration().toMillis(), step.getStartupStep().getName(),
+                        describeTags(step.getStartupStep())))
+                .collect(Collectors.joining("\n"));
+        log.info("Slowest startup steps:\n{}", steps);
+    }
+
+    private static String describeTags(final StartupStep step) {
+        final String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", "));
+        return tags.isEmpty() ? "" : " [" + tags + "]";
+    }
+}
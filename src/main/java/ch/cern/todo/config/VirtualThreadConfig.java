@@ -0,0 +1,68 @@
+package ch.cern.todo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Request execution on virtual threads, enabled with {@code spring.threads.virtual.enabled=true} (the
+ * {@code virtual-threads} profile). Spring Boot then serves requests on virtual threads; this adds admission control
+ * sized to the connection pool in front of the API and reports carrier thread pinning.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(final DataSource dataSource, final ObjectMapper objectMapper,
+                                                         @Value("${todo.admission.permits:0}") final int permits,
+                                                         @Value("${todo.admission.timeout:2s}") final Duration timeout) {
+        final int effectivePermits = permits > 0 ? permits : connectionPoolSize(dataSource);
+        log.info("Admitting at most {} concurrent API requests", effectivePermits);
+
+        return new AdmissionControlFilter(effectivePermits, timeout, objectMapper);
+    }
+
+    /**
+     * Runs ahead of the security filters, which may already need a connection to authenticate the caller.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(final AdmissionControlFilter filter) {
+        final FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean(destroyMethod = "close")
+    public PinnedVirtualThreadMonitor pinnedVirtualThreadMonitor(@Value("${todo.virtual-threads.pinned-threshold:20ms}") final Duration threshold) {
+        return new PinnedVirtualThreadMonitor(threshold);
+    }
+
+    /**
+     * Maximum size of the Hikari pool behind {@code dataSource}; with a read replica the primary pool.
+     */
+    static int connectionPoolSize(final DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (final SQLException e) {
+            log.warn("Could not read the connection pool size", e);
+        }
+
+        throw new IllegalStateException("Connection pool size unknown, set todo.admission.permits");
+    }
+}
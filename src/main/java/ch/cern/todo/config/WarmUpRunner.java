@@ -0,0 +1,184 @@
+package ch.cern.todo.config;
+
+import ch.cern.todo.controller.CategoryController;
+import ch.cern.todo.controller.TaskController;
+import ch.cern.todo.dto.CategoryCreateRequest;
+import ch.cern.todo.dto.CategoryQueryParams;
+import ch.cern.todo.dto.TaskCreateRequest;
+import ch.cern.todo.dto.TaskQueryParams;
+import ch.cern.todo.dto.TaskRequest;
+import ch.cern.todo.dto.TaskResponse;
+import ch.cern.todo.entity.User;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.service.CategoryCache;
+import ch.cern.todo.service.CategoryService;
+import ch.cern.todo.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs a synthetic workload through the controllers, services, Jackson and BCrypt before the instance reports ready,
+ * so that the first real requests hit JIT-compiled code. Enabled with {@code todo.warmup.enabled=true}.
+ * <p>
+ * Runners finish before Spring Boot switches the readiness state to accepting traffic, so the readiness probe stays
+ * down for the whole warm-up. Each round creates a throwaway user, category and tasks, lists, updates and serializes
+ * them, all in one transaction that is rolled back; the after-commit side effects (search index, caches, ETag
+ * versions) therefore never happen. Rounds stop once the JIT compiled for less than {@code stable-compile-time} in
+ * {@code stable-rounds} consecutive rounds, or when {@code max-duration} is used up.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "todo.warmup.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final String PASSWORD = "warm-up";
+    private static final int TASKS_PER_ROUND = 20;
+
+    private final TaskController taskController;
+    private final CategoryController categoryController;
+    private final TaskService taskService;
+    private final CategoryService categoryService;
+    private final UserRepository userRepository;
+    private final CategoryCache categoryCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxDuration;
+    private final Duration stableCompileTime;
+    private final int stableRounds;
+
+    public WarmUpRunner(final TaskController taskController, final CategoryController categoryController,
+                        final TaskService taskService, final CategoryService categoryService,
+                        final UserRepository userRepository, final CategoryCache categoryCache,
+                        final EntityManagerFactory entityManagerFactory, final PasswordEncoder passwordEncoder,
+                        final ObjectMapper objectMapper, final PlatformTransactionManager transactionManager,
+                        @Value("${todo.warmup.max-duration:30s}") final Duration maxDuration,
+                        @Value("${todo.warmup.stable-compile-time:5ms}") final Duration stableCompileTime,
+                        @Value("${todo.warmup.stable-rounds:3}") final int stableRounds) {
+        this.taskController = taskController;
+        this.categoryController = categoryController;
+        this.taskService = taskService;
+        this.categoryService = categoryService;
+        this.userRepository = userRepository;
+        this.categoryCache = categoryCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxDuration = maxDuration;
+        this.stableCompileTime = stableCompileTime;
+        this.stableRounds = stableRounds;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        final boolean compileTimeKnown = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        final long start = System.nanoTime();
+        final long deadline = start + maxDuration.toNanos();
+        final String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        long compileTime = compileTimeKnown ? compilation.getTotalCompilationTime() : 0;
+        int rounds = 0;
+        int quietRounds = 0;
+
+        try {
+            while (System.nanoTime() < deadline && (!compileTimeKnown || quietRounds < stableRounds)) {
+                runRound(passwordHash);
+                rounds++;
+
+                if (compileTimeKnown) {
+                    final long previous = compileTime;
+                    compileTime = compilation.getTotalCompilationTime();
+                    quietRounds = compileTime - previous < stableCompileTime.toMillis() ? quietRounds + 1 : 0;
+                }
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+            categoryCache.invalidateAll();
+            entityManagerFactory.getCache().evictAll();
+        }
+
+        log.info("Warm-up ran {} rounds in {} ms, {}", rounds, (System.nanoTime() - start) / 1_000_000,
+                quietRounds >= stableRounds ? "JIT compilation settled" : "time budget used up");
+    }
+
+    private void runRound(final String passwordHash) {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+
+            final String suffix = UUID.randomUUID().toString();
+            final User user = userRepository.save(User.builder()
+                    .username("warm-up-" + suffix)
+                    .password(passwordHash)
+                    .role("ROLE_USER")
+                    .build());
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            passwordEncoder.matches(PASSWORD, passwordHash);
+
+            final String category = categoryController.createCategory(new CategoryCreateRequest("warm-up-" + suffix, "Warm-up")).getBody().getName();
+            for (int i = 0; i < TASKS_PER_ROUND; i++) {
+                final TaskCreateRequest request = read(write(Map.of(
+                        "name", "warm-up-" + i,
+                        "description", "Warm-up task " + i,
+                        "deadline", LocalDate.now().plusDays(i + 1).toString(),
+                        "category", category)), TaskCreateRequest.class);
+                final TaskResponse task = taskController.createTask(request).getBody();
+                write(taskController.updateTask(new TaskRequest(task.getName(), "Updated", task.getDeadline(), category), task.getId()).getBody());
+            }
+
+            final CallerContext caller = CallerContext.of(user);
+            final TaskQueryParams params = new TaskQueryParams();
+            params.setCreatedBy(user.getUsername());
+            params.setSort("deadline");
+            write(taskService.getAllTasks(params, caller).getItems());
+            params.setFields("name,deadline");
+            write(taskService.getAllTasks(params, caller).getItems());
+            write(taskController.getDueSoonTasks(new TaskQueryParams()).getBody());
+            write(taskController.getTaskStats(new TaskQueryParams()).getBody());
+            write(categoryService.getAllCategories(new CategoryQueryParams()).getItems());
+        });
+    }
+
+    private byte[] write(final Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(final byte[] json, final Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
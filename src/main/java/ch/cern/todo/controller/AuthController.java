@@ -1,11 +1,17 @@
 package ch.cern.todo.controller;
 
+import ch.cern.todo.dto.LoginRequest;
 import ch.cern.todo.dto.RegisterRequest;
+import ch.cern.todo.dto.TokenResponse;
 import ch.cern.todo.entity.User;
+import ch.cern.todo.security.TokenService;
 import ch.cern.todo.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -15,9 +21,14 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("api/v1/auth")
 public class AuthController {
     private final UserService userService;
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
 
-    public AuthController(final UserService userService) {
+    public AuthController(final UserService userService, final AuthenticationManager authenticationManager,
+                          final TokenService tokenService) {
         this.userService = userService;
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
     }
 
     @PostMapping("/register")
@@ -27,4 +38,12 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body("User " + user.getUsername() + " registered successfully!");
     }
+
+    @PostMapping("/login")
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody final LoginRequest request) {
+        final Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+
+        return ResponseEntity.status(HttpStatus.OK).body(tokenService.issueToken((User) authentication.getPrincipal()));
+    }
 }
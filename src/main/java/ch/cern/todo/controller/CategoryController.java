@@ -1,6 +1,9 @@
 package ch.cern.todo.controller;
 
 import ch.cern.todo.dto.CategoryCreateRequest;
+import ch.cern.todo.dto.CursorPage;
+import ch.cern.todo.util.ConditionalRequestUtil;
+import ch.cern.todo.util.PaginationUtil;
 import ch.cern.todo.util.SecurityUtil;
 import ch.cern.todo.dto.CategoryRequest;
 import ch.cern.todo.dto.CategoryResponse;
@@ -12,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -22,16 +26,26 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    /**
+     * Answers {@code If-None-Match} with {@code 304 Not Modified} from a version counter, before any query runs.
+     */
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories(final CategoryQueryParams requestParam) {
-        final List<CategoryResponse> categoryResponses = categoryService.getAllCategories(requestParam);
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(final CategoryQueryParams requestParam,
+                                                                   final ServletWebRequest webRequest) {
+        if (ConditionalRequestUtil.isNotModified(webRequest, categoryService.getListingETag(webRequest.getRequest().getQueryString()))) {
+            return null;
+        }
 
-        return ResponseEntity.status(HttpStatus.OK).body(categoryResponses);
+        final CursorPage<CategoryResponse> categoryResponses = categoryService.getAllCategories(requestParam);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .headers(PaginationUtil.headersOf(categoryResponses))
+                .body(categoryResponses.getItems());
     }
 
     @PostMapping
     public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody final CategoryCreateRequest categoryCreateRequest) {
-        final CategoryResponse category = categoryService.createCategory(categoryCreateRequest, SecurityUtil.getLoggedInUsername());
+        final CategoryResponse category = categoryService.createCategory(categoryCreateRequest, SecurityUtil.getCaller());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(category);
     }
@@ -39,14 +53,14 @@ public class CategoryController {
     @PutMapping("/{categoryId}")
     public ResponseEntity<CategoryResponse> updateCategory(@Valid @RequestBody final CategoryRequest categoryRequest,
                                                            @PathVariable @NotNull final Long categoryId) {
-        final CategoryResponse category = categoryService.updateCategory(categoryRequest, SecurityUtil.getLoggedInUsername(), categoryId);
+        final CategoryResponse category = categoryService.updateCategory(categoryRequest, SecurityUtil.getCaller(), categoryId);
 
         return ResponseEntity.status(HttpStatus.OK).body(category);
     }
 
     @DeleteMapping("/{categoryId}")
     public ResponseEntity<String> deleteCategory(@PathVariable @NotNull final Long categoryId) {
-        categoryService.deleteCategory(SecurityUtil.getLoggedInUsername(), categoryId);
+        categoryService.deleteCategory(SecurityUtil.getCaller(), categoryId);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
@@ -0,0 +1,29 @@
+package ch.cern.todo.controller;
+
+import ch.cern.todo.dto.SearchQueryParams;
+import ch.cern.todo.dto.SearchResult;
+import ch.cern.todo.service.SearchService;
+import ch.cern.todo.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(final SearchQueryParams requestParams) {
+        final List<SearchResult> results = searchService.search(requestParams, SecurityUtil.getCaller());
+
+        return ResponseEntity.status(HttpStatus.OK).body(results);
+    }
+}
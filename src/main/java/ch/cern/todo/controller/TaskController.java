@@ -1,15 +1,26 @@
 package ch.cern.todo.controller;
 
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.util.ConditionalRequestUtil;
+import ch.cern.todo.util.PaginationUtil;
 import ch.cern.todo.util.SecurityUtil;
 import ch.cern.todo.dto.*;
+import ch.cern.todo.service.TaskBatchService;
 import ch.cern.todo.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,32 +28,116 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Answers {@code If-None-Match} with {@code 304 Not Modified} from version counters, before any query runs.
+     */
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTask(final TaskQueryParams requestParam) {
-        final List<TaskResponse> taskResponses = taskService.getAllTasks(requestParam);
+    public ResponseEntity<List<TaskResponse>> getAllTask(final TaskQueryParams requestParam, final ServletWebRequest webRequest) {
+        final CallerContext caller = SecurityUtil.getCaller();
+        final String eTag = taskService.getListingETag(requestParam, caller, webRequest.getRequest().getQueryString());
+        if (ConditionalRequestUtil.isNotModified(webRequest, eTag)) {
+            return null;
+        }
 
-        return ResponseEntity.status(HttpStatus.OK).body(taskResponses);
+        final CursorPage<TaskResponse> taskResponses = taskService.getAllTasks(requestParam, caller);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .headers(PaginationUtil.headersOf(taskResponses))
+                .body(taskResponses.getItems());
+    }
+
+    /**
+     * Newline delimited JSON variant of {@link #getAllTask}, selected with {@code Accept: application/x-ndjson}.
+     * Tasks are written as they are read from the database, so memory use does not depend on the result size.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTasks(final TaskQueryParams requestParam) {
+        final CallerContext caller = SecurityUtil.getCaller();
+        taskService.authorizeListing(requestParam, caller);
+
+        final ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+        final StreamingResponseBody body = outputStream -> taskService.streamTasks(requestParam, caller, task -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(task));
+                outputStream.write('\n');
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * The {@code limit} (20 by default, at most 100) tasks due next, soonest first, from {@code deadlineFrom} or today.
+     * Takes the filters of {@link #getAllTask}; {@code after}, {@code sort} and {@code includeTotal} are ignored.
+     */
+    @GetMapping("/due-soon")
+    public ResponseEntity<List<TaskResponse>> getDueSoonTasks(final TaskQueryParams requestParam) {
+        final List<TaskResponse> tasks = taskService.getDueSoonTasks(requestParam, SecurityUtil.getCaller());
+
+        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    }
+
+    /**
+     * Task counts per category and owner, overdue and due this week, for the tasks {@link #getAllTask} would list
+     * with the same filters. Pagination parameters are ignored.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats(final TaskQueryParams requestParam) {
+        final TaskStatsResponse stats = taskService.getTaskStats(requestParam, SecurityUtil.getCaller());
+
+        return ResponseEntity.status(HttpStatus.OK).body(stats);
     }
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@RequestBody @Valid final TaskCreateRequest taskCreateRequest) {
-        final TaskResponse task = taskService.createTask(taskCreateRequest, SecurityUtil.getLoggedInUsername());
+        final TaskResponse task = taskService.createTask(taskCreateRequest, SecurityUtil.getCaller());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
+    /**
+     * Creates all tasks of the array for the caller. Each item gets its own result, so a bad item does not fail the
+     * others; the response is {@code 201} when every item was created and {@code 200} otherwise.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> createTasks(@RequestBody final List<TaskCreateRequest> taskCreateRequests) {
+        final TaskBatchResponse response = taskBatchService.createTasks(taskCreateRequests, SecurityUtil.getCaller());
+
+        return ResponseEntity.status(response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+    }
+
+    @PostMapping("/bulk/reassign")
+    public ResponseEntity<TaskBulkResponse> reassignTasks(@RequestBody @Valid final TaskBulkReassignRequest request) {
+        final TaskBulkResponse response = taskService.reassignTasks(request, SecurityUtil.getCaller());
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<TaskBulkResponse> deleteTasks(@RequestBody @Valid final TaskBulkRequest request) {
+        final TaskBulkResponse response = taskService.deleteTasks(request, SecurityUtil.getCaller());
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(@Valid @RequestBody final TaskRequest taskRequest,
                                                            @PathVariable @NotNull final Long taskId) {
-        final TaskResponse updatedTask = taskService.updateTask(taskRequest, SecurityUtil.getLoggedInUsername(), taskId);
+        final TaskResponse updatedTask = taskService.updateTask(taskRequest, SecurityUtil.getCaller(), taskId);
 
         return ResponseEntity.status(HttpStatus.OK).body(updatedTask);
     }
 
     @DeleteMapping("/{taskId}")
     public ResponseEntity<String> deleteCategory(@PathVariable @NotNull final Long taskId) {
-        taskService.deleteTask(SecurityUtil.getLoggedInUsername(), taskId);
+        taskService.deleteTask(SecurityUtil.getCaller(), taskId);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
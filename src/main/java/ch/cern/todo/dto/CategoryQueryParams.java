@@ -9,4 +9,13 @@ public class CategoryQueryParams {
     private String createdBy;
     private String name;
     private String description;
+
+    /**
+     * Comma separated response fields to return, all of them when absent.
+     */
+    private String fields;
+
+    private Integer limit;
+    private String after;
+    private boolean includeTotal;
 }
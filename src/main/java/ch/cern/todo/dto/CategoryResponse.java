@@ -1,13 +1,22 @@
 package ch.cern.todo.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.util.List;
+
+/**
+ * Fields that are {@code null}, e.g. because they were left out of a {@code fields=} selection, are not serialized.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @RequiredArgsConstructor
 @SuperBuilder
 @Getter
 public class CategoryResponse {
+    public static final List<String> FIELDS = List.of("id", "name", "description", "createdBy");
+
     private final Long id;
     private final String name;
     private final String description;
@@ -0,0 +1,16 @@
+package ch.cern.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The fields of a category that are kept in the full-text search index.
+ */
+@AllArgsConstructor
+@Getter
+public class CategorySearchDocument {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String createdBy;
+}
@@ -0,0 +1,12 @@
+package ch.cern.todo.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SearchQueryParams {
+    private String q;
+    private String type;
+    private Integer limit;
+}
@@ -0,0 +1,18 @@
+package ch.cern.todo.dto;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class SearchResult {
+    private String type;
+    private Long id;
+    private String name;
+    private String description;
+    private String createdBy;
+    private float score;
+}
@@ -0,0 +1,27 @@
+package ch.cern.todo.dto;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class TaskBatchItemResult {
+    public enum Status {
+        CREATED,
+        INVALID,
+        CATEGORY_NOT_FOUND,
+        DUPLICATE,
+        FAILED
+    }
+
+    /**
+     * Position of the item in the request array.
+     */
+    private int index;
+    private Status status;
+    private Long id;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package ch.cern.todo.dto;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class TaskBatchResponse {
+    private int created;
+    private int failed;
+    private List<TaskBatchItemResult> results;
+}
@@ -0,0 +1,16 @@
+package ch.cern.todo.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class TaskBulkReassignRequest extends TaskBulkRequest {
+    @NotBlank
+    private String targetCategory;
+}
@@ -0,0 +1,34 @@
+package ch.cern.todo.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Selects the tasks a bulk operation applies to. All given criteria must match; at least one is required.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class TaskBulkRequest {
+    @Size(max = 1000)
+    private List<Long> ids;
+    private String createdBy;
+    private String name;
+    private String description;
+    private String category;
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate deadline;
+
+    public boolean hasNoCriteria() {
+        return (ids == null || ids.isEmpty()) && createdBy == null && name == null && description == null
+                && category == null && deadline == null;
+    }
+}
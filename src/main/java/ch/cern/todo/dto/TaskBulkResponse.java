@@ -0,0 +1,13 @@
+package ch.cern.todo.dto;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class TaskBulkResponse {
+    private long affected;
+}
@@ -0,0 +1,25 @@
+package ch.cern.todo.dto;
+
+import lombok.*;
+
+/**
+ * Task counts of one category or owner. {@code upcoming} includes the tasks due this week.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TaskGroupStats {
+    private String name;
+    private long total;
+    private long overdue;
+    private long upcoming;
+    private long dueThisWeek;
+
+    /**
+     * Projection constructor for the {@code GROUP BY} queries of {@code TaskRepositoryCustom}.
+     */
+    public TaskGroupStats(final String name, final Long total, final Long overdue, final Long dueThisWeek) {
+        this(name, total, overdue, total - overdue, dueThisWeek);
+    }
+}
@@ -0,0 +1,7 @@
+package ch.cern.todo.dto;
+
+/**
+ * What makes a task unique for its owner: its name within a category.
+ */
+public record TaskKey(String name, Long categoryId) {
+}
@@ -13,6 +13,29 @@ public class TaskQueryParams {
     private String name;
     private String description;
     private String category;
+    /**
+     * Deadline strictly before this date.
+     */
     @DateTimeFormat(pattern = "yyyy-MM-dd")
     private LocalDate deadline;
+    /**
+     * Deadline on or after this date.
+     */
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate deadlineFrom;
+    /**
+     * Deadline on or before this date.
+     */
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate deadlineTo;
+
+    /**
+     * Comma separated response fields to return, all of them when absent.
+     */
+    private String fields;
+
+    private Integer limit;
+    private String after;
+    private String sort;
+    private boolean includeTotal;
 }
@@ -1,19 +1,27 @@
 package ch.cern.todo.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * Fields that are {@code null}, e.g. because they were left out of a {@code fields=} selection, are not serialized.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 @SuperBuilder
 public class TaskResponse {
+    public static final List<String> FIELDS = List.of("id", "name", "description", "createdBy", "deadline", "category");
+
     private Long id;
     private String name;
     private String description;
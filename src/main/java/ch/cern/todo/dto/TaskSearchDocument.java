@@ -0,0 +1,17 @@
+package ch.cern.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The fields of a task that are kept in the full-text search index.
+ */
+@AllArgsConstructor
+@Getter
+public class TaskSearchDocument {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String createdBy;
+    private final Long categoryId;
+}
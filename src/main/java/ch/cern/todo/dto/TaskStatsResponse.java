@@ -0,0 +1,23 @@
+package ch.cern.todo.dto;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class TaskStatsResponse {
+    private LocalDate today;
+    private LocalDate endOfWeek;
+    private long total;
+    private long overdue;
+    private long upcoming;
+    private long dueThisWeek;
+    private List<TaskGroupStats> byCategory;
+    private List<TaskGroupStats> byOwner;
+}
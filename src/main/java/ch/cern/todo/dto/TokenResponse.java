@@ -0,0 +1,14 @@
+package ch.cern.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@Getter
+public class TokenResponse {
+    private final String token;
+    private final String tokenType;
+    private final Instant expiresAt;
+}
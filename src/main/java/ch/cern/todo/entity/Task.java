@@ -3,21 +3,35 @@ package ch.cern.todo.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", uniqueConstraints = @UniqueConstraint(
+        name = Task.UNIQUE_NAME_CONSTRAINT, columnNames = {"name", "category_id", "user_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
 public class Task {
+    /**
+     * Ids handed out per sequence call. Must match the {@code INCREMENT BY} of {@code tasks_seq}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * A task name is unique per owner and category; creates and renames rely on it instead of a lookup.
+     */
+    public static final String UNIQUE_NAME_CONSTRAINT = "uk_tasks_name_category_user";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -32,9 +46,11 @@ public class Task {
 
     @ManyToOne
     @JoinColumn(name = "category_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Category category;
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User createdBy;
 }
@@ -4,6 +4,8 @@ package ch.cern.todo.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -12,6 +14,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,11 +36,14 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private String role;
 
-    @OneToMany(mappedBy = "createdBy", cascade = CascadeType.ALL, orphanRemoval = true)
+    /**
+     * Not cascaded: tasks and categories of a deleted user are removed by {@code ON DELETE CASCADE}.
+     */
+    @OneToMany(mappedBy = "createdBy")
     @ToString.Exclude
     private List<Task> createdTasks;
 
-    @OneToMany(mappedBy = "createdBy", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "createdBy")
     @ToString.Exclude
     private List<Category> createdCategories;
 
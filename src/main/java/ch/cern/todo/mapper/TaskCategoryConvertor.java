@@ -3,6 +3,7 @@ package ch.cern.todo.mapper;
 import ch.cern.todo.dto.CategoryCreateRequest;
 
 import ch.cern.todo.dto.CategoryResponse;
+import ch.cern.todo.dto.CategorySearchDocument;
 import ch.cern.todo.entity.Category;
 import ch.cern.todo.entity.User;
 import org.springframework.stereotype.Component;
@@ -27,4 +28,9 @@ public class TaskCategoryConvertor {
                 .createdBy(category.getCreatedBy().getUsername())
                 .build();
     }
+
+    public CategorySearchDocument convertToSearchDocument(final Category category) {
+        return new CategorySearchDocument(category.getId(), category.getName(), category.getDescription(),
+                category.getCreatedBy().getUsername());
+    }
 }
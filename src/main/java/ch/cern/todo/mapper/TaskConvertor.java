@@ -2,6 +2,7 @@ package ch.cern.todo.mapper;
 
 import ch.cern.todo.dto.TaskCreateRequest;
 import ch.cern.todo.dto.TaskResponse;
+import ch.cern.todo.dto.TaskSearchDocument;
 import ch.cern.todo.entity.Category;
 import ch.cern.todo.entity.Task;
 import ch.cern.todo.entity.User;
@@ -32,4 +33,9 @@ public class TaskConvertor {
                 .createdBy(task.getCreatedBy().getUsername())
                 .build();
     }
+
+    public TaskSearchDocument convertToSearchDocument(final Task task) {
+        return new TaskSearchDocument(task.getId(), task.getName(), task.getDescription(),
+                task.getCreatedBy().getUsername(), task.getCategory().getId());
+    }
 }
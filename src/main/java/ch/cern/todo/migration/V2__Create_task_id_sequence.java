@@ -0,0 +1,29 @@
+package ch.cern.todo.migration;
+
+import ch.cern.todo.entity.Task;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Moves {@code tasks.id} from an identity column to {@code tasks_seq}, so that Hibernate can allocate ids in blocks
+ * and batch inserts. Written in Java because the sequence has to start after the ids already in the table.
+ */
+public class V2__Create_task_id_sequence extends BaseJavaMigration {
+
+    @Override
+    public void migrate(final Context context) throws Exception {
+        try (final Statement statement = context.getConnection().createStatement()) {
+            final long start;
+            try (final ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM tasks")) {
+                resultSet.next();
+                start = resultSet.getLong(1);
+            }
+
+            statement.execute("CREATE SEQUENCE tasks_seq START WITH " + start + " INCREMENT BY " + Task.ID_ALLOCATION_SIZE);
+            statement.execute("ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY");
+        }
+    }
+}
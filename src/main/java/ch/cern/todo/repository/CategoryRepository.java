@@ -1,11 +1,31 @@
 package ch.cern.todo.repository;
 
+import ch.cern.todo.dto.CategorySearchDocument;
 import ch.cern.todo.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category>,
+        CategoryRepositoryCustom {
+    /**
+     * Fetches the owner in the same statement; the query cache then resolves both from the second-level cache.
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
+
+    List<Category> findByNameIn(Collection<String> names);
+
+    @Query("select new ch.cern.todo.dto.CategorySearchDocument(c.id, c.name, c.description, c.createdBy.username) from Category c")
+    Stream<CategorySearchDocument> streamSearchDocuments();
 }
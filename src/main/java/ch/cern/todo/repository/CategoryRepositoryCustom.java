@@ -0,0 +1,21 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.CategoryResponse;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.util.FieldSelection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Listing query that selects straight into {@link CategoryResponse}, reading only the columns of the requested fields.
+ */
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Returns at most {@code limit} matching categories in {@code sort} order. Fields that are not selected are
+     * {@code null}; the owner table is not joined unless its username is selected or filtered on.
+     */
+    List<CategoryResponse> findAllResponses(Specification<Category> spec, Sort sort, int limit, FieldSelection fields);
+}
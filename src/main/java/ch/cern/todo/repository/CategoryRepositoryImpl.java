@@ -0,0 +1,49 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.CategoryResponse;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.util.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CategoryRepositoryImpl implements CategoryRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    /**
+     * The constructor arguments follow the field order of {@link CategoryResponse}.
+     */
+    @Override
+    public List<CategoryResponse> findAllResponses(final Specification<Category> spec, final Sort sort, final int limit,
+                                                   final FieldSelection fields) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<CategoryResponse> query = criteriaBuilder.createQuery(CategoryResponse.class);
+        final Root<Category> root = query.from(Category.class);
+
+        query.select(criteriaBuilder.construct(CategoryResponse.class,
+                root.get("id"),
+                fields.select("name", criteriaBuilder, String.class, () -> root.get("name")),
+                fields.select("description", criteriaBuilder, String.class, () -> root.get("description")),
+                fields.select("createdBy", criteriaBuilder, String.class, () -> root.get("createdBy").get("username"))));
+
+        final Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,15 +1,23 @@
 package ch.cern.todo.repository;
 
-import ch.cern.todo.entity.Category;
+import ch.cern.todo.dto.TaskKey;
+import ch.cern.todo.dto.TaskSearchDocument;
 import ch.cern.todo.entity.Task;
-import ch.cern.todo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
-    Optional<Task> findByNameAndCategoryAndCreatedBy(String name, Category category, User user);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
+    @Query("select new ch.cern.todo.dto.TaskKey(t.name, t.category.id) from Task t where t.createdBy.id = :userId and t.name in :names")
+    List<TaskKey> findKeysByOwnerAndNameIn(@Param("userId") Long userId, @Param("names") Collection<String> names);
+
+    @Query("select new ch.cern.todo.dto.TaskSearchDocument(t.id, t.name, t.description, t.createdBy.username, t.category.id) from Task t")
+    Stream<TaskSearchDocument> streamSearchDocuments();
 }
@@ -0,0 +1,73 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.TaskGroupStats;
+import ch.cern.todo.dto.TaskResponse;
+import ch.cern.todo.dto.TaskSearchDocument;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.util.FieldSelection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Listing queries that select straight into {@link TaskResponse}. The owner's username and the category name are
+ * read through joins in the same statement, so a listing costs one query no matter how many distinct users and
+ * categories the tasks reference.
+ * <p>
+ * Also holds the bulk statements, which touch the matching rows directly without loading them as entities.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Returns at most {@code limit} matching tasks in {@code sort} order. Only the columns of the selected
+     * {@code fields} are read, the other fields are {@code null}; the owner and category tables are not joined unless
+     * their name is selected or filtered on.
+     */
+    List<TaskResponse> findAllResponses(Specification<Task> spec, Sort sort, int limit, FieldSelection fields);
+
+    default List<TaskResponse> findAllResponses(final Specification<Task> spec, final Sort sort, final int limit) {
+        return findAllResponses(spec, sort, limit, FieldSelection.ALL);
+    }
+
+    /**
+     * Streams the matching tasks from a server-side cursor read {@code fetchSize} rows at a time. Nothing is added to
+     * the persistence context, so memory does not grow with the result. Must be consumed inside a transaction and
+     * closed afterwards.
+     */
+    Stream<TaskResponse> streamAllResponses(Specification<Task> spec, Sort sort, int fetchSize, FieldSelection fields);
+
+    /**
+     * Counts the matching tasks per category with one {@code GROUP BY}: in total, with a deadline before
+     * {@code today}, and due between {@code today} and {@code endOfWeek} inclusive. The result has one row per
+     * category, however many tasks there are.
+     */
+    List<TaskGroupStats> countByCategory(Specification<Task> spec, LocalDate today, LocalDate endOfWeek);
+
+    /**
+     * Like {@link #countByCategory}, grouped by owner.
+     */
+    List<TaskGroupStats> countByOwner(Specification<Task> spec, LocalDate today, LocalDate endOfWeek);
+
+    /**
+     * Streams the search index fields of the matching tasks, {@code fetchSize} rows at a time. Must be consumed inside
+     * a transaction and closed afterwards.
+     */
+    Stream<TaskSearchDocument> streamSearchDocuments(Specification<Task> spec, int fetchSize);
+
+    /**
+     * Returns the ids of the matching tasks without loading them, so that a bulk statement can be limited to the rows
+     * it was meant for and the search index refreshed for exactly those.
+     */
+    List<Long> findIds(Specification<Task> spec);
+
+    /**
+     * Moves all matching tasks to the category with id {@code categoryId} in a single {@code UPDATE}. The
+     * specification must only use columns of {@code tasks}: bulk statements cannot join.
+     *
+     * @return the number of updated rows
+     */
+    int updateCategory(Specification<Task> spec, Long categoryId);
+}
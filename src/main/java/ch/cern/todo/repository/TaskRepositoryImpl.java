@@ -0,0 +1,186 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.TaskGroupStats;
+import ch.cern.todo.dto.TaskResponse;
+import ch.cern.todo.dto.TaskSearchDocument;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.util.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findAllResponses(final Specification<Task> spec, final Sort sort, final int limit,
+                                               final FieldSelection fields) {
+        return createResponseQuery(spec, sort, fields)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskResponse> streamAllResponses(final Specification<Task> spec, final Sort sort, final int fetchSize,
+                                                   final FieldSelection fields) {
+        return createResponseQuery(spec, sort, fields)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<TaskGroupStats> countByCategory(final Specification<Task> spec, final LocalDate today, final LocalDate endOfWeek) {
+        return countByGroup(spec, "category", "name", today, endOfWeek);
+    }
+
+    @Override
+    public List<TaskGroupStats> countByOwner(final Specification<Task> spec, final LocalDate today, final LocalDate endOfWeek) {
+        return countByGroup(spec, "createdBy", "username", today, endOfWeek);
+    }
+
+    @Override
+    public Stream<TaskSearchDocument> streamSearchDocuments(final Specification<Task> spec, final int fetchSize) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TaskSearchDocument> query = criteriaBuilder.createQuery(TaskSearchDocument.class);
+        final Root<Task> root = query.from(Task.class);
+
+        query.select(criteriaBuilder.construct(TaskSearchDocument.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("createdBy").get("username"),
+                root.get("category").get("id")));
+        applyWhere(query, root, spec, criteriaBuilder);
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Long> findIds(final Specification<Task> spec) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        final Root<Task> root = query.from(Task.class);
+
+        query.select(root.get("id"));
+        applyWhere(query, root, spec, criteriaBuilder);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int updateCategory(final Specification<Task> spec, final Long categoryId) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaUpdate<Task> update = criteriaBuilder.createCriteriaUpdate(Task.class);
+        final Root<Task> root = update.from(Task.class);
+
+        update.set(root.get("category"), entityManager.getReference(Category.class, categoryId));
+
+        final Predicate predicate = spec.toPredicate(root, criteriaBuilder.createQuery(Task.class), criteriaBuilder);
+        if (predicate != null) {
+            update.where(predicate);
+        }
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    /**
+     * Groups by the id and label of the {@code association}, and counts the deadline buckets with conditional sums so
+     * that every bucket comes from the same single pass over the matching rows.
+     */
+    private List<TaskGroupStats> countByGroup(final Specification<Task> spec, final String association,
+                                              final String labelAttribute, final LocalDate today,
+                                              final LocalDate endOfWeek) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TaskGroupStats> query = criteriaBuilder.createQuery(TaskGroupStats.class);
+        final Root<Task> root = query.from(Task.class);
+        final Path<LocalDate> deadline = root.get("deadline");
+        final Path<String> label = root.get(association).get(labelAttribute);
+
+        query.select(criteriaBuilder.construct(TaskGroupStats.class,
+                label,
+                criteriaBuilder.count(root),
+                countWhere(criteriaBuilder, criteriaBuilder.lessThan(deadline, today)),
+                countWhere(criteriaBuilder, criteriaBuilder.between(deadline, today, endOfWeek))));
+        applyWhere(query, root, spec, criteriaBuilder);
+        query.groupBy(root.get(association).get("id"), label);
+        query.orderBy(criteriaBuilder.asc(label));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Expression<Long> countWhere(final CriteriaBuilder criteriaBuilder, final Predicate condition) {
+        return criteriaBuilder.sum(criteriaBuilder.<Long>selectCase()
+                .when(condition, 1L)
+                .otherwise(0L));
+    }
+
+    /**
+     * The constructor arguments follow the field order of {@link TaskResponse}. Paths such as
+     * {@code createdBy.username} become implicit inner joins which Hibernate shares with the same paths used by the
+     * specification, so filtering on the owner or category does not join twice. Fields that are not selected are
+     * {@code null} literals, so their columns are not read and their joins are not created.
+     */
+    private TypedQuery<TaskResponse> createResponseQuery(final Specification<Task> spec, final Sort sort,
+                                                         final FieldSelection fields) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TaskResponse> query = criteriaBuilder.createQuery(TaskResponse.class);
+        final Root<Task> root = query.from(Task.class);
+
+        query.select(criteriaBuilder.construct(TaskResponse.class,
+                root.get("id"),
+                fields.select("name", criteriaBuilder, String.class, () -> root.get("name")),
+                fields.select("description", criteriaBuilder, String.class, () -> root.get("description")),
+                fields.select("createdBy", criteriaBuilder, String.class, () -> root.get("createdBy").get("username")),
+                fields.select("deadline", criteriaBuilder, LocalDate.class, () -> root.get("deadline")),
+                fields.select("category", criteriaBuilder, String.class, () -> root.get("category").get("name"))));
+
+        applyWhere(query, root, spec, criteriaBuilder);
+        query.orderBy(toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Unlike {@code QueryUtils.toOrders}, which joins the association for a nested property, orders by the path itself,
+     * so that {@code createdBy.id} is the {@code user_id} column of {@code tasks}.
+     */
+    private static List<Order> toOrders(final Sort sort, final Root<Task> root, final CriteriaBuilder criteriaBuilder) {
+        return sort.stream()
+                .map(order -> {
+                    Path<?> path = root;
+                    for (final String attribute : order.getProperty().split("\\.")) {
+                        path = path.get(attribute);
+                    }
+                    return order.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path);
+                })
+                .toList();
+    }
+
+    private static void applyWhere(final CriteriaQuery<?> query, final Root<Task> root, final Specification<Task> spec,
+                                   final CriteriaBuilder criteriaBuilder) {
+        final Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
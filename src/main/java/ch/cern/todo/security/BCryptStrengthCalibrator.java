@@ -0,0 +1,43 @@
+package ch.cern.todo.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost factor whose hashing time on this machine is closest to, but not below, a target.
+ * <p>
+ * Only the lowest candidate cost is actually measured; each further step doubles the work, so the
+ * remaining ones are extrapolated instead of burning seconds of startup time on high costs.
+ */
+public final class BCryptStrengthCalibrator {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(final Duration target) {
+        final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(MIN_STRENGTH);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        final long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return strengthFor(target.toNanos(), System.nanoTime() - start);
+    }
+
+    static int strengthFor(final long targetNanos, final long nanosAtMinStrength) {
+        int strength = MIN_STRENGTH;
+        long estimate = Math.max(1, nanosAtMinStrength);
+
+        while (estimate < targetNanos && strength < MAX_STRENGTH) {
+            strength++;
+            estimate *= 2;
+        }
+
+        return strength;
+    }
+}
@@ -0,0 +1,104 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.entity.User;
+import ch.cern.todo.service.PasswordHashingService;
+import ch.cern.todo.service.UserService;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Username/password authentication backed by the database, with a {@link CredentialCache} in front so
+ * that only the first request of a client pays for the BCrypt comparison. That comparison, and the
+ * re-encoding of hashes stored with an outdated cost after a successful check, run on the bounded
+ * {@link PasswordHashingService} pool rather than on the request thread.
+ * <p>
+ * A cache hit still runs the account status checks the database path runs, so a locked, disabled or expired
+ * account is rejected, and its cached credentials dropped, as soon as the cached user reports it.
+ */
+@Component
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final DaoAuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+    private final UserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    public CachingAuthenticationProvider(final UserService userService, final PasswordEncoder passwordEncoder,
+                                         final PasswordHashingService passwordHashingService,
+                                         final CredentialCache credentialCache) {
+        this.delegate = new DaoAuthenticationProvider();
+        this.delegate.setUserDetailsService(userService);
+        this.delegate.setPasswordEncoder(new PooledPasswordEncoder(passwordEncoder, passwordHashingService));
+        this.delegate.setUserDetailsPasswordService(userService);
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(final Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        final String username = authentication.getName();
+        final String password = authentication.getCredentials().toString();
+
+        final Optional<User> cachedUser = credentialCache.get(username, password);
+        if (cachedUser.isPresent()) {
+            try {
+                accountStatusChecker.check(cachedUser.get());
+            } catch (final AccountStatusException e) {
+                credentialCache.invalidate(cachedUser.get().getId());
+                throw e;
+            }
+
+            final UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    cachedUser.get(), null, cachedUser.get().getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        final Authentication result = delegate.authenticate(authentication);
+        if (result.getPrincipal() instanceof User user) {
+            credentialCache.put(username, password, user);
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean supports(final Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Hands the expensive operations to the hashing pool; the cost check of a stored hash is cheap and stays on
+     * the calling thread.
+     */
+    private record PooledPasswordEncoder(PasswordEncoder passwordEncoder,
+                                         PasswordHashingService passwordHashingService) implements PasswordEncoder {
+
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            return passwordHashingService.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            return passwordHashingService.matches(rawPassword, encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(final String encodedPassword) {
+            return passwordEncoder.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.entity.User;
+
+/**
+ * Immutable view of the authenticated caller, resolved once per request by
+ * {@link ch.cern.todo.util.SecurityUtil#getCaller()}.
+ *
+ * @param userId   id of the caller, {@code null} if the principal is not backed by a {@link User}
+ * @param username name of the caller
+ * @param admin    whether the caller holds {@link #ADMIN_ROLE}
+ */
+public record CallerContext(Long userId, String username, boolean admin) {
+
+    public static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    public static CallerContext of(final User user) {
+        return new CallerContext(user.getId(), user.getUsername(), ADMIN_ROLE.equals(user.getRole()));
+    }
+
+    public boolean isNotAdmin() {
+        return !admin;
+    }
+
+    public boolean isOwnerOrAdmin(final User owner) {
+        return admin || owner.getUsername().equals(username);
+    }
+
+    /**
+     * Detached {@link User} carrying only the id, usable as a foreign key reference without loading the row.
+     */
+    public User toUserReference() {
+        return User.builder()
+                .id(userId)
+                .username(username)
+                .build();
+    }
+}
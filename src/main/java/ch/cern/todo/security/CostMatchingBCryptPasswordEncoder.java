@@ -0,0 +1,38 @@
+package ch.cern.todo.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for a stored hash to be re-encoded whenever its cost differs from the configured one.
+ * <p>
+ * {@link BCryptPasswordEncoder#upgradeEncoding} only reports hashes with a lower cost, so lowering the cost, for
+ * instance after the calibration picked a cheaper one on new hardware, would never reach the existing hashes.
+ */
+public class CostMatchingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public CostMatchingBCryptPasswordEncoder(final int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        final Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+        if (!cost.find()) {
+            return super.upgradeEncoding(encodedPassword);
+        }
+
+        return Integer.parseInt(cost.group(1)) != strength;
+    }
+}
@@ -0,0 +1,158 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of successfully verified username/password pairs, so that repeated HTTP Basic
+ * requests do not pay for a user lookup and a BCrypt comparison every time.
+ * <p>
+ * Entries are keyed by an HMAC of the credentials with a per-process random key: the raw password is
+ * never kept in memory and the keys are useless outside this instance.
+ * <p>
+ * Writers that change a user's credentials evict them through {@link #invalidate}; changes made outside the
+ * application, such as deleting a user directly in the database, are only picked up once the entry expires.
+ */
+@Component
+public class CredentialCache implements MeterBinder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ThreadLocal<Mac> macs;
+    private final Map<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CredentialCache(@Value("${todo.security.credential-cache.max-size:10000}") final int maxSize,
+                           @Value("${todo.security.credential-cache.ttl:5m}") final Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+
+        final byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        final SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > CredentialCache.this.maxSize;
+            }
+        };
+    }
+
+    public Optional<User> get(final String username, final String password) {
+        final String key = keyOf(username, password);
+        final long now = System.nanoTime();
+
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - now > 0) {
+                    hits.increment();
+                    return Optional.of(entry.user());
+                }
+                entries.remove(key);
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(final String username, final String password, final User user) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        final String key = keyOf(username, password);
+        final Entry entry = new Entry(user, System.nanoTime() + ttlNanos);
+
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Drops every cached credential of the given user, e.g. after a password, role or account status change.
+     */
+    public void invalidate(final Long userId) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.user().getId().equals(userId));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("todo.auth.credential.cache.requests", this, CredentialCache::hitCount)
+                .tag("result", "hit")
+                .description("Credential cache lookups")
+                .register(registry);
+        FunctionCounter.builder("todo.auth.credential.cache.requests", this, CredentialCache::missCount)
+                .tag("result", "miss")
+                .description("Credential cache lookups")
+                .register(registry);
+        Gauge.builder("todo.auth.credential.cache.size", this, CredentialCache::size)
+                .description("Number of cached credentials")
+                .register(registry);
+    }
+
+    private String keyOf(final String username, final String password) {
+        final Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac newMac(final SecretKeySpec key) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
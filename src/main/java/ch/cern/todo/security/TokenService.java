@@ -0,0 +1,145 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.dto.TokenResponse;
+import ch.cern.todo.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issues and verifies short-lived HMAC-SHA256 signed access tokens.
+ * <p>
+ * A token carries everything needed to rebuild the principal (user id, username, role) plus an expiry,
+ * so verification is a local signature check and never touches the database. Signing keys are configured
+ * as {@code kid:base64-secret} pairs; the first one signs new tokens, the others are only accepted for
+ * verification, which lets keys be rotated without invalidating tokens already handed out.
+ */
+@Component
+public class TokenService {
+
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+    private final String activeKeyId;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${todo.security.token.signing-keys:}") final List<String> signingKeys,
+                        @Value("${todo.security.token.ttl:15m}") final Duration ttl) {
+        this(signingKeys, ttl, Clock.systemUTC());
+    }
+
+    TokenService(final List<String> signingKeys, final Duration ttl, final Clock clock) {
+        for (final String signingKey : signingKeys) {
+            if (signingKey.isBlank()) {
+                continue;
+            }
+            final int separator = signingKey.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Signing keys must be configured as kid:base64-secret");
+            }
+            keys.put(signingKey.substring(0, separator).trim(),
+                    new SecretKeySpec(Base64.getDecoder().decode(signingKey.substring(separator + 1).trim()), HMAC_ALGORITHM));
+        }
+
+        if (keys.isEmpty()) {
+            final byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            keys.put("local", new SecretKeySpec(secret, HMAC_ALGORITHM));
+        }
+
+        this.activeKeyId = keys.keySet().iterator().next();
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public TokenResponse issueToken(final User user) {
+        final Instant expiresAt = clock.instant().plus(ttl);
+        final String payload = String.join(FIELD_SEPARATOR,
+                activeKeyId,
+                user.getId().toString(),
+                user.getRole(),
+                Long.toString(expiresAt.getEpochSecond()),
+                user.getUsername());
+
+        final String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        final String signature = ENCODER.encodeToString(sign(keys.get(activeKeyId), encodedPayload));
+
+        return new TokenResponse(encodedPayload + "." + signature, TOKEN_TYPE, expiresAt);
+    }
+
+    /**
+     * Returns the principal carried by the token, or an empty optional if the token is malformed,
+     * signed with an unknown key, tampered with or expired.
+     */
+    public Optional<User> verifyToken(final String token) {
+        final int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        final String encodedPayload = token.substring(0, dot);
+        final String[] fields;
+        final byte[] signature;
+        try {
+            fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|", 5);
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (final IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (fields.length != 5) {
+            return Optional.empty();
+        }
+
+        final SecretKeySpec key = keys.get(fields[0]);
+        if (key == null || !MessageDigest.isEqual(sign(key, encodedPayload), signature)) {
+            return Optional.empty();
+        }
+
+        try {
+            if (clock.instant().getEpochSecond() >= Long.parseLong(fields[3])) {
+                return Optional.empty();
+            }
+
+            return Optional.of(User.builder()
+                    .id(Long.parseLong(fields[1]))
+                    .role(fields[2])
+                    .username(fields[4])
+                    .build());
+        } catch (final NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] sign(final SecretKeySpec key, final String encodedPayload) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign token with " + HMAC_ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.repository.CategoryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Category name to id lookups for task writes, which only need the category as a foreign key.
+ * <p>
+ * The table is small and rarely written, so the mapping is an immutable map replaced on every change: reads are a
+ * single volatile read without locking. Names that are not cached are looked up in the database and added. The
+ * category services report creates, renames and deletes; a version counter keeps a lookup that raced with such a
+ * change from putting the old state back.
+ */
+@Component
+public class CategoryCache implements MeterBinder {
+
+    private final CategoryRepository categoryRepository;
+    private final Object lock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile Map<String, Long> idsByName = Map.of();
+    private long version;
+
+    public CategoryCache(final CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Returns a detached {@link Category} carrying only the id and name, usable as a foreign key reference.
+     */
+    public Optional<Category> findByName(final String name) {
+        final Long id = idsByName.get(name);
+        if (id != null) {
+            hits.increment();
+            return Optional.of(toReference(id, name));
+        }
+
+        misses.increment();
+        final long versionBeforeLoad = currentVersion();
+        final Optional<Category> category = categoryRepository.findByName(name);
+        category.ifPresent(loaded -> putIfUnchanged(versionBeforeLoad, Map.of(loaded.getName(), loaded.getId())));
+
+        return category.map(loaded -> toReference(loaded.getId(), loaded.getName()));
+    }
+
+    /**
+     * Resolves several names at once; the ones not cached are loaded with a single query. Unknown names are absent
+     * from the result.
+     */
+    public Map<String, Category> findAllByName(final Collection<String> names) {
+        final Map<String, Long> snapshot = idsByName;
+        final Map<String, Category> categories = new HashMap<>();
+        final Set<String> missing = new HashSet<>();
+
+        for (final String name : names) {
+            final Long id = snapshot.get(name);
+            if (id != null) {
+                hits.increment();
+                categories.put(name, toReference(id, name));
+            } else {
+                misses.increment();
+                missing.add(name);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            final long versionBeforeLoad = currentVersion();
+            final List<Category> loaded = categoryRepository.findByNameIn(missing);
+            final Map<String, Long> loadedIds = new HashMap<>();
+            for (final Category category : loaded) {
+                loadedIds.put(category.getName(), category.getId());
+                categories.put(category.getName(), toReference(category.getId(), category.getName()));
+            }
+            putIfUnchanged(versionBeforeLoad, loadedIds);
+        }
+
+        return categories;
+    }
+
+    public void onCreated(final Category category) {
+        update(copy -> copy.put(category.getName(), category.getId()));
+    }
+
+    public void onRenamed(final String previousName, final Category category) {
+        update(copy -> {
+            copy.remove(previousName);
+            copy.put(category.getName(), category.getId());
+        });
+    }
+
+    public void onDeleted(final String name) {
+        update(copy -> copy.remove(name));
+    }
+
+    public void invalidateAll() {
+        update(Map::clear);
+    }
+
+    public int size() {
+        return idsByName.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        final long hitCount = hitCount();
+        final long total = hitCount + missCount();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("todo.category.cache.requests", this, CategoryCache::hitCount)
+                .tag("result", "hit")
+                .description("Category cache lookups")
+                .register(registry);
+        FunctionCounter.builder("todo.category.cache.requests", this, CategoryCache::missCount)
+                .tag("result", "miss")
+                .description("Category cache lookups")
+                .register(registry);
+        Gauge.builder("todo.category.cache.size", this, CategoryCache::size)
+                .description("Number of cached category names")
+                .register(registry);
+        Gauge.builder("todo.category.cache.hit.ratio", this, CategoryCache::hitRatio)
+                .description("Share of category lookups served from the cache")
+                .register(registry);
+    }
+
+    private long currentVersion() {
+        synchronized (lock) {
+            return version;
+        }
+    }
+
+    private void putIfUnchanged(final long expectedVersion, final Map<String, Long> loaded) {
+        if (loaded.isEmpty()) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (version != expectedVersion) {
+                return;
+            }
+            final Map<String, Long> copy = new HashMap<>(idsByName);
+            copy.putAll(loaded);
+            idsByName = Map.copyOf(copy);
+        }
+    }
+
+    private void update(final Consumer<Map<String, Long>> change) {
+        synchronized (lock) {
+            final Map<String, Long> copy = new HashMap<>(idsByName);
+            change.accept(copy);
+            idsByName = Map.copyOf(copy);
+            version++;
+        }
+    }
+
+    private static Category toReference(final Long id, final String name) {
+        return Category.builder()
+                .id(id)
+                .name(name)
+                .build();
+    }
+}
@@ -1,7 +1,7 @@
 package ch.cern.todo.service;
 
 import ch.cern.todo.dto.CategoryCreateRequest;
-import ch.cern.todo.util.SecurityUtil;
+import ch.cern.todo.dto.CursorPage;
 import ch.cern.todo.dto.CategoryQueryParams;
 import ch.cern.todo.exceptions.ResourceNotFoundException;
 import ch.cern.todo.exceptions.UnauthorizedException;
@@ -9,14 +9,21 @@ import ch.cern.todo.exceptions.UserNotFoundException;
 import ch.cern.todo.mapper.TaskCategoryConvertor;
 import ch.cern.todo.dto.CategoryRequest;
 import ch.cern.todo.dto.CategoryResponse;
+import ch.cern.todo.dto.CategorySearchDocument;
 import ch.cern.todo.entity.Category;
 import ch.cern.todo.entity.User;
 import ch.cern.todo.repository.CategoryRepository;
 import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.util.FieldSelection;
+import ch.cern.todo.util.KeysetCursor;
+import ch.cern.todo.util.TransactionUtil;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,49 +32,92 @@ import java.util.Objects;
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
+    private static final String SORT_BY_ID = "id";
 
     private final CategoryRepository categoryRepository;
     private final TaskCategoryConvertor taskCategoryConvertor;
     private final UserRepository userRepository;
+    private final SearchService searchService;
+    private final CategoryCache categoryCache;
+    private final ModificationVersions modificationVersions;
+
+    /**
+     * ETag of the listing {@link #getAllCategories} would return, computed from a version counter without a query.
+     */
+    public String getListingETag(final String query) {
+        return modificationVersions.categoryListingETag(query);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CategoryResponse> getAllCategories(final CategoryQueryParams requestParams) {
+        final int limit = CursorPage.resolveLimit(requestParams.getLimit());
+        final Specification<Category> filter = createSpecification(requestParams);
+        final Specification<Category> pageFilter = requestParams.getAfter() == null
+                ? filter
+                : filter.and(createKeysetSpecification(KeysetCursor.decode(requestParams.getAfter(), SORT_BY_ID)));
+
+        final FieldSelection fields = FieldSelection.parse(requestParams.getFields(), CategoryResponse.FIELDS, "id");
 
-    public List<CategoryResponse> getAllCategories(final CategoryQueryParams requestParams) {
-        final Specification<Category> spec = createSpecification(requestParams);
+        final List<CategoryResponse> categories = categoryRepository.findAllResponses(pageFilter, Sort.by("id"), limit + 1, fields);
+        final boolean hasNextPage = categories.size() > limit;
+        final List<CategoryResponse> page = hasNextPage ? categories.subList(0, limit) : categories;
 
-        return categoryRepository.findAll(spec)
-                .stream()
-                .map(taskCategoryConvertor::convertToCategoryResponse)
-                .toList();
+        final String nextCursor = hasNextPage ? new KeysetCursor(SORT_BY_ID, null, page.get(page.size() - 1).getId()).encode() : null;
+        final Long totalCount = requestParams.isIncludeTotal() && requestParams.getAfter() == null ? categoryRepository.count(filter) : null;
+
+        return new CursorPage<>(page, nextCursor, totalCount);
     }
 
-    public CategoryResponse createCategory(final CategoryCreateRequest categoryCreateRequest, final String userName) {
-        final User user = userRepository.findByUsername(userName)
-                .orElseThrow(() -> new UserNotFoundException(userName));
+    @Transactional
+    public CategoryResponse createCategory(final CategoryCreateRequest categoryCreateRequest, final CallerContext caller) {
+        final User user = resolveUser(caller);
 
-        final Category category = taskCategoryConvertor.convertToCategoryEntity(categoryCreateRequest, user);
+        final Category savedCategory = categoryRepository.save(taskCategoryConvertor.convertToCategoryEntity(categoryCreateRequest, user));
+        final CategorySearchDocument searchDocument = taskCategoryConvertor.convertToSearchDocument(savedCategory);
+        TransactionUtil.afterCommit(() -> {
+            categoryCache.onCreated(savedCategory);
+            searchService.indexCategory(searchDocument);
+        });
+        modificationVersions.categoriesChanged();
 
-        return taskCategoryConvertor.convertToCategoryResponse(categoryRepository.save(category));
+        return taskCategoryConvertor.convertToCategoryResponse(savedCategory);
     }
 
-    public CategoryResponse updateCategory(final CategoryRequest categoryRequest, final String userName, final Long categoryId) {
+    @Transactional
+    public CategoryResponse updateCategory(final CategoryRequest categoryRequest, final CallerContext caller, final Long categoryId) {
         final Category category = findById(categoryId);
 
-        if (SecurityUtil.isNotAdmin() && !category.getCreatedBy().getUsername().equals(userName)) {
+        if (!caller.isOwnerOrAdmin(category.getCreatedBy())) {
             throw new UnauthorizedException("You are not allowed to update this category!");
         }
 
+        final String previousName = category.getName();
         final Category updatedCategory = categoryRepository.save(updateCategory(category, categoryRequest));
+        final CategorySearchDocument searchDocument = taskCategoryConvertor.convertToSearchDocument(updatedCategory);
+        TransactionUtil.afterCommit(() -> {
+            categoryCache.onRenamed(previousName, updatedCategory);
+            searchService.indexCategory(searchDocument);
+        });
+        modificationVersions.categoriesChanged();
 
         return taskCategoryConvertor.convertToCategoryResponse(updatedCategory);
     }
 
-    public void deleteCategory(final String userName, final Long categoryId) {
+    @Transactional
+    public void deleteCategory(final CallerContext caller, final Long categoryId) {
         final Category category = findById(categoryId);
 
-        if (SecurityUtil.isNotAdmin() && !category.getCreatedBy().getUsername().equals(userName)) {
+        if (!caller.isOwnerOrAdmin(category.getCreatedBy())) {
             throw new UnauthorizedException("You are not allowed to delete this category!");
         }
 
         categoryRepository.delete(category);
+        TransactionUtil.afterCommit(() -> {
+            categoryCache.onDeleted(category.getName());
+            searchService.removeCategory(category.getId());
+        });
+        modificationVersions.categoriesChanged();
+        modificationVersions.allTasksChanged();
     }
 
     private Specification<Category> createSpecification(final CategoryQueryParams params) {
@@ -90,6 +140,19 @@ public class CategoryService {
         };
     }
 
+    private User resolveUser(final CallerContext caller) {
+        if (caller.userId() != null) {
+            return caller.toUserReference();
+        }
+
+        return userRepository.findByUsername(caller.username())
+                .orElseThrow(() -> new UserNotFoundException(caller.username()));
+    }
+
+    private Specification<Category> createKeysetSpecification(final KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), cursor.id());
+    }
+
     private Category findById(final Long id) {
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", id.toString()));
@@ -0,0 +1,79 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the task and category listings, used to answer conditional GETs without running the query.
+ * <p>
+ * Every write bumps the counters it affects once it is committed: tasks per owner, tasks of all owners, categories.
+ * Bumping before the commit would let a concurrent reader pair the new version with the old data and keep it.
+ * All versions come from one clock, so they only grow and a bump always yields a value no client has seen. The
+ * counters live in memory and start over on restart; a random instance id in every ETag keeps tags of a previous run
+ * from matching. They are per process, so they are only exact while one instance writes to the database.
+ */
+@Component
+public class ModificationVersions {
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong clock = new AtomicLong();
+    private final ConcurrentMap<String, Long> taskVersionsByOwner = new ConcurrentHashMap<>();
+    private final AtomicLong allOwnersTaskVersion = new AtomicLong();
+    private final AtomicLong latestTaskVersion = new AtomicLong();
+    private final AtomicLong categoryVersion = new AtomicLong();
+
+    /**
+     * Tasks of {@code owner} were created, changed or deleted.
+     */
+    public void tasksChanged(final String owner) {
+        TransactionUtil.afterCommit(() -> {
+            final long version = clock.incrementAndGet();
+            taskVersionsByOwner.merge(owner, version, Math::max);
+            latestTaskVersion.accumulateAndGet(version, Math::max);
+        });
+    }
+
+    /**
+     * Tasks of any number of owners changed, e.g. by a bulk statement or a category deletion.
+     */
+    public void allTasksChanged() {
+        TransactionUtil.afterCommit(() -> {
+            final long version = clock.incrementAndGet();
+            allOwnersTaskVersion.accumulateAndGet(version, Math::max);
+            latestTaskVersion.accumulateAndGet(version, Math::max);
+        });
+    }
+
+    public void categoriesChanged() {
+        TransactionUtil.afterCommit(() -> categoryVersion.accumulateAndGet(clock.incrementAndGet(), Math::max));
+    }
+
+    /**
+     * ETag of a task listing restricted to {@code owner}, or of all owners when it is {@code null}. Task responses
+     * carry the category name, so category changes are part of it.
+     */
+    public String taskListingETag(final String owner, final String query) {
+        final long taskVersion = owner == null
+                ? latestTaskVersion.get()
+                : Math.max(allOwnersTaskVersion.get(), taskVersionsByOwner.getOrDefault(owner, 0L));
+
+        return eTag("tasks", taskVersion, categoryVersion.get(), owner, query);
+    }
+
+    public String categoryListingETag(final String query) {
+        return eTag("categories", categoryVersion.get(), 0, null, query);
+    }
+
+    private String eTag(final String listing, final long version, final long categoryVersion, final String owner,
+                        final String query) {
+        final String key = listing + '|' + instanceId + '|' + version + '|' + categoryVersion + '|' + owner + '|' + query;
+        return '"' + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
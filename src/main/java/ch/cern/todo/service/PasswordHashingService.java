@@ -0,0 +1,95 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing, and the password checks of logins, on a small dedicated pool instead of the
+ * request threads.
+ * <p>
+ * The pool and its queue are bounded: once both are full new hashing requests are rejected with a
+ * {@link ServiceUnavailableException}, so a burst of registrations or logins cannot take every web
+ * worker thread away from regular traffic.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PasswordHashingService(final PasswordEncoder passwordEncoder,
+                                  @Value("${todo.security.password.hashing.threads:0}") final int threads,
+                                  @Value("${todo.security.password.hashing.queue-capacity:32}") final int queueCapacity,
+                                  @Value("${todo.security.password.hashing.timeout:10s}") final Duration timeout) {
+        final int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        final BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        final AtomicInteger threadCount = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            final Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> encodeAsync(final CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public String encode(final CharSequence rawPassword) {
+        return await(encodeAsync(rawPassword));
+    }
+
+    /**
+     * Checks {@code rawPassword} against a stored hash on the pool, which costs as much as hashing it.
+     */
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    private <T> CompletableFuture<T> submit(final Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (final RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many concurrent password operations, please retry later.");
+        }
+    }
+
+    private <T> T await(final CompletableFuture<T> operation) {
+        try {
+            return operation.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            operation.cancel(true);
+            throw new ServiceUnavailableException("Password hashing timed out, please retry later.");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted.");
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
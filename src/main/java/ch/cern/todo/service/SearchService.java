@@ -0,0 +1,415 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.dto.CategorySearchDocument;
+import ch.cern.todo.dto.SearchQueryParams;
+import ch.cern.todo.dto.SearchResult;
+import ch.cern.todo.dto.TaskSearchDocument;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.exceptions.InvalidRequestException;
+import ch.cern.todo.repository.CategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.security.CallerContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over task and category names and descriptions, backed by a Lucene index on local disk.
+ * <p>
+ * The database stays the source of truth: the index is updated by the services after each write and can be rebuilt
+ * from the database at startup, so a lost or stale index only costs a rebuild. Updates are searchable right away but
+ * only committed to disk on shutdown; the last commit records whether the index was closed cleanly, and an index left
+ * behind by a crash is rebuilt even with {@code rebuild-on-startup} disabled. Queries are tokenized like the indexed
+ * text and every term matches exactly, as a prefix or with a small edit distance; results are ranked by BM25 with
+ * exact and name matches weighted highest.
+ */
+@Slf4j
+@Service
+public class SearchService {
+    public static final String TYPE_TASK = "task";
+    public static final String TYPE_CATEGORY = "category";
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_TERMS = 10;
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_CREATED_BY = "createdBy";
+    private static final String FIELD_CATEGORY_ID = "categoryId";
+
+    private static final String CLEAN_SHUTDOWN = "cleanShutdown";
+    private static final int REINDEX_FETCH_SIZE = 500;
+    private static final int REINDEX_BATCH_SIZE = 1000;
+
+    private static final float NAME_BOOST = 2f;
+    private static final float EXACT_BOOST = 3f;
+    private static final float PREFIX_BOOST = 1.5f;
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final boolean rebuildOnStartup;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final boolean closedCleanly;
+
+    public SearchService(final TaskRepository taskRepository, final CategoryRepository categoryRepository,
+                         @Value("${todo.search.index-dir:./search-index}") final Path indexDir,
+                         @Value("${todo.search.rebuild-on-startup:true}") final boolean rebuildOnStartup) throws IOException {
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.indexWriter = new IndexWriter(FSDirectory.open(indexDir),
+                new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+        this.closedCleanly = readCleanShutdown();
+
+        setCleanShutdown(false);
+        indexWriter.commit();
+    }
+
+    public List<SearchResult> search(final SearchQueryParams params, final CallerContext caller) {
+        final int limit = resolveLimit(params.getLimit());
+        final Query query = createQuery(params, caller);
+
+        try {
+            final IndexSearcher searcher = searcherManager.acquire();
+            try {
+                final TopDocs topDocs = searcher.search(query, limit);
+                final List<SearchResult> results = new ArrayList<>(topDocs.scoreDocs.length);
+                for (final ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    results.add(toSearchResult(searcher.storedFields().document(scoreDoc.doc), scoreDoc.score));
+                }
+                return results;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Search index could not be read", e);
+        }
+    }
+
+    public void indexTask(final TaskSearchDocument task) {
+        write(writer -> writer.updateDocument(keyOf(TYPE_TASK, task.getId()), createDocument(task)));
+    }
+
+    /**
+     * Indexes several tasks with a single refresh, for batch imports.
+     */
+    public void indexTasks(final List<TaskSearchDocument> tasks) {
+        write(writer -> {
+            for (final TaskSearchDocument task : tasks) {
+                writer.updateDocument(keyOf(TYPE_TASK, task.getId()), createDocument(task));
+            }
+        });
+    }
+
+    public void indexCategory(final CategorySearchDocument category) {
+        write(writer -> writer.updateDocument(keyOf(TYPE_CATEGORY, category.getId()), createDocument(category)));
+    }
+
+    public void removeTask(final Long taskId) {
+        write(writer -> writer.deleteDocuments(keyOf(TYPE_TASK, taskId)));
+    }
+
+    /**
+     * Replaces the indexed tasks with ids {@code taskIds} with their rows in the database, {@value #REINDEX_BATCH_SIZE}
+     * at a time and read through a cursor so that memory does not grow with the number of tasks. Tasks no longer in
+     * the database are removed. Used after bulk statements with the ids they were limited to. Runs in its own
+     * transaction since it is called after the bulk statement committed. That transaction is not read-only: it has to
+     * read from the primary, as a replica may not have the bulk statement's changes yet.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reindexTasks(final List<Long> taskIds) {
+        for (int from = 0; from < taskIds.size(); from += REINDEX_BATCH_SIZE) {
+            final List<Long> batch = taskIds.subList(from, Math.min(from + REINDEX_BATCH_SIZE, taskIds.size()));
+            final Specification<Task> spec = (root, query, criteriaBuilder) -> root.get("id").in(batch);
+
+            try (final Stream<TaskSearchDocument> tasks = taskRepository.streamSearchDocuments(spec, REINDEX_FETCH_SIZE)) {
+                write(writer -> {
+                    writer.deleteDocuments(new TermInSetQuery(FIELD_KEY, batch.stream()
+                            .map(taskId -> keyOf(TYPE_TASK, taskId).bytes())
+                            .toList()));
+                    tasks.forEach(task -> addDocument(createDocument(task)));
+                });
+            }
+        }
+    }
+
+    /**
+     * Removes the category together with its tasks, which the database deletes along with it.
+     */
+    public void removeCategory(final Long categoryId) {
+        write(writer -> writer.deleteDocuments(keyOf(TYPE_CATEGORY, categoryId),
+                new Term(FIELD_CATEGORY_ID, String.valueOf(categoryId))));
+    }
+
+    /**
+     * Removes every document without reading the database. The empty index is filled by {@link #rebuildOnStartup()}.
+     */
+    public void clear() {
+        write(IndexWriter::deleteAll);
+    }
+
+    /**
+     * Runs before the other ready listeners, which may write to the index. Also rebuilds an index that is empty or was
+     * not closed cleanly, since it may be missing writes made after its last commit.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup || indexWriter.getDocStats().numDocs == 0) {
+            rebuild();
+        } else if (!closedCleanly) {
+            log.warn("Search index was not closed cleanly, rebuilding it");
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the current content of the database. Must run inside a transaction.
+     */
+    public void rebuild() {
+        final long start = System.nanoTime();
+
+        try (final Stream<CategorySearchDocument> categories = categoryRepository.streamSearchDocuments();
+             final Stream<TaskSearchDocument> tasks = taskRepository.streamSearchDocuments()) {
+            indexWriter.deleteAll();
+            categories.forEach(category -> addDocument(createDocument(category)));
+            tasks.forEach(task -> addDocument(createDocument(task)));
+            indexWriter.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Search index could not be rebuilt", e);
+        }
+
+        log.info("Rebuilt search index with {} documents in {} ms", indexWriter.getDocStats().numDocs,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Commits the pending updates together with the clean shutdown flag.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        setCleanShutdown(true);
+        indexWriter.close();
+    }
+
+    /**
+     * Every query term is required, and may match either field exactly, as a prefix or fuzzily. Non-admins only see
+     * their own tasks; categories are visible to everyone, like in the category listing.
+     */
+    private Query createQuery(final SearchQueryParams params, final CallerContext caller) {
+        if (params.getQ() == null || params.getQ().isBlank()) {
+            throw new InvalidRequestException("q must not be blank");
+        }
+
+        final List<String> terms = analyze(params.getQ());
+        if (terms.isEmpty()) {
+            throw new InvalidRequestException("q must contain at least one word");
+        }
+        if (terms.size() > MAX_TERMS) {
+            throw new InvalidRequestException("q must not contain more than " + MAX_TERMS + " words");
+        }
+
+        final BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (final String term : terms) {
+            query.add(createTermQuery(term), BooleanClause.Occur.MUST);
+        }
+
+        if (params.getType() != null) {
+            if (!TYPE_TASK.equals(params.getType()) && !TYPE_CATEGORY.equals(params.getType())) {
+                throw new InvalidRequestException("type must be one of '" + TYPE_TASK + "', '" + TYPE_CATEGORY + "'");
+            }
+            query.add(new TermQuery(new Term(FIELD_TYPE, params.getType())), BooleanClause.Occur.FILTER);
+        }
+
+        if (caller.isNotAdmin()) {
+            final Query ownTasks = new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term(FIELD_TYPE, TYPE_TASK)), BooleanClause.Occur.FILTER)
+                    .add(new TermQuery(new Term(FIELD_CREATED_BY, caller.username())), BooleanClause.Occur.FILTER)
+                    .build();
+            final Query visible = new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term(FIELD_TYPE, TYPE_CATEGORY)), BooleanClause.Occur.SHOULD)
+                    .add(ownTasks, BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(visible, BooleanClause.Occur.FILTER);
+        }
+
+        return query.build();
+    }
+
+    private Query createTermQuery(final String term) {
+        final BooleanQuery.Builder query = new BooleanQuery.Builder();
+
+        for (final String field : List.of(FIELD_NAME, FIELD_DESCRIPTION)) {
+            final float fieldBoost = FIELD_NAME.equals(field) ? NAME_BOOST : 1f;
+
+            query.add(new BoostQuery(new TermQuery(new Term(field, term)), EXACT_BOOST * fieldBoost), BooleanClause.Occur.SHOULD);
+            if (term.length() > 1) {
+                query.add(new BoostQuery(new PrefixQuery(new Term(field, term)), PREFIX_BOOST * fieldBoost), BooleanClause.Occur.SHOULD);
+            }
+            if (term.length() > 2) {
+                final int maxEdits = term.length() > 5 ? 2 : 1;
+                query.add(new BoostQuery(new FuzzyQuery(new Term(field, term), maxEdits), fieldBoost), BooleanClause.Occur.SHOULD);
+            }
+        }
+
+        return query.build();
+    }
+
+    private List<String> analyze(final String text) {
+        final List<String> terms = new ArrayList<>();
+
+        try (final TokenStream tokenStream = analyzer.tokenStream(FIELD_NAME, text)) {
+            final CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                terms.add(termAttribute.toString());
+            }
+            tokenStream.end();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return terms;
+    }
+
+    private static int resolveLimit(final Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    private static Document createDocument(final TaskSearchDocument task) {
+        final Document document = createDocument(TYPE_TASK, task.getId(), task.getName(), task.getDescription(), task.getCreatedBy());
+        document.add(new StringField(FIELD_CATEGORY_ID, String.valueOf(task.getCategoryId()), Field.Store.NO));
+        return document;
+    }
+
+    private static Document createDocument(final CategorySearchDocument category) {
+        return createDocument(TYPE_CATEGORY, category.getId(), category.getName(), category.getDescription(),
+                category.getCreatedBy());
+    }
+
+    private static Document createDocument(final String type, final Long id, final String name,
+                                           final String description, final String createdBy) {
+        final Document document = new Document();
+        document.add(new StringField(FIELD_KEY, keyOf(type, id).text(), Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type, Field.Store.YES));
+        document.add(new StoredField(FIELD_ID, id));
+        document.add(new TextField(FIELD_NAME, name, Field.Store.YES));
+        document.add(new TextField(FIELD_DESCRIPTION, description != null ? description : "", Field.Store.YES));
+        document.add(new StringField(FIELD_CREATED_BY, createdBy, Field.Store.YES));
+        return document;
+    }
+
+    private static SearchResult toSearchResult(final Document document, final float score) {
+        return SearchResult.builder()
+                .type(document.get(FIELD_TYPE))
+                .id(document.getField(FIELD_ID).numericValue().longValue())
+                .name(document.get(FIELD_NAME))
+                .description(document.get(FIELD_DESCRIPTION))
+                .createdBy(document.get(FIELD_CREATED_BY))
+                .score(score)
+                .build();
+    }
+
+    private static Term keyOf(final String type, final Long id) {
+        return new Term(FIELD_KEY, type + ":" + id);
+    }
+
+    private boolean readCleanShutdown() {
+        final Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData != null) {
+            for (final Map.Entry<String, String> entry : commitData) {
+                if (CLEAN_SHUTDOWN.equals(entry.getKey())) {
+                    return Boolean.parseBoolean(entry.getValue());
+                }
+            }
+        }
+        return false;
+    }
+
+    private void setCleanShutdown(final boolean clean) {
+        indexWriter.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, String.valueOf(clean)).entrySet());
+    }
+
+    private void addDocument(final Document document) {
+        try {
+            indexWriter.addDocument(document);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Applies a change and makes it visible to the next search. A failure is logged rather than thrown: the database
+     * write it mirrors has already happened, and the index catches up on the next rebuild.
+     */
+    private void write(final IndexOperation operation) {
+        try {
+            operation.apply(indexWriter);
+            searcherManager.maybeRefreshBlocking();
+        } catch (final IOException e) {
+            log.warn("Search index update failed, it is stale until the next rebuild", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void apply(IndexWriter writer) throws IOException;
+    }
+}
@@ -0,0 +1,230 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.dto.TaskBatchItemResult;
+import ch.cern.todo.dto.TaskBatchResponse;
+import ch.cern.todo.dto.TaskCreateRequest;
+import ch.cern.todo.dto.TaskKey;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.entity.User;
+import ch.cern.todo.exceptions.InvalidRequestException;
+import ch.cern.todo.exceptions.UserNotFoundException;
+import ch.cern.todo.mapper.TaskConvertor;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.util.ConstraintViolationUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many tasks of one caller at once. Per chunk of the request, categories and existing tasks are looked up
+ * with one query each instead of once per item, and the inserts go out as JDBC batches.
+ * <p>
+ * Items that fail validation, reference an unknown category or duplicate a task are reported individually and do not
+ * stop the others. Each chunk is inserted in its own transaction; with {@code chunk-size=0} the whole request is one
+ * chunk, so either all valid items are created or none. A chunk that hits the unique name constraint because of a
+ * concurrent insert is retried once, so that the colliding item is reported as a duplicate.
+ */
+@Slf4j
+@Service
+public class TaskBatchService {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final CategoryCache categoryCache;
+    private final TaskConvertor taskConvertor;
+    private final SearchService searchService;
+    private final ModificationVersions modificationVersions;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSize;
+    private final int chunkSize;
+
+    public TaskBatchService(final TaskRepository taskRepository, final UserRepository userRepository,
+                            final CategoryCache categoryCache, final TaskConvertor taskConvertor,
+                            final SearchService searchService, final ModificationVersions modificationVersions,
+                            final Validator validator,
+                            final PlatformTransactionManager transactionManager,
+                            @Value("${todo.tasks.batch.max-size:1000}") final int maxSize,
+                            @Value("${todo.tasks.batch.chunk-size:0}") final int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.categoryCache = categoryCache;
+        this.taskConvertor = taskConvertor;
+        this.searchService = searchService;
+        this.modificationVersions = modificationVersions;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+        this.chunkSize = chunkSize;
+    }
+
+    public TaskBatchResponse createTasks(final List<TaskCreateRequest> requests, final CallerContext caller) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidRequestException("At least one task is required");
+        }
+        if (requests.size() > maxSize) {
+            throw new InvalidRequestException("At most " + maxSize + " tasks can be created at once");
+        }
+
+        final User user = resolveUser(caller);
+        final TaskBatchItemResult[] results = new TaskBatchItemResult[requests.size()];
+        final int step = chunkSize > 0 ? chunkSize : requests.size();
+
+        for (int from = 0; from < requests.size(); from += step) {
+            createChunk(requests, from, Math.min(from + step, requests.size()), user, results);
+        }
+
+        final List<TaskBatchItemResult> resultList = Arrays.asList(results);
+        final int created = (int) resultList.stream()
+                .filter(result -> result.getStatus() == TaskBatchItemResult.Status.CREATED)
+                .count();
+
+        return new TaskBatchResponse(created, results.length - created, resultList);
+    }
+
+    private void createChunk(final List<TaskCreateRequest> requests, final int from, final int to, final User user,
+                             final TaskBatchItemResult[] results) {
+        final List<Integer> indexes = new ArrayList<>();
+        final List<Task> tasks = new ArrayList<>();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insertChunk(requests, from, to, user, results, indexes, tasks);
+                break;
+            } catch (final DataAccessException | TransactionException e) {
+                final boolean duplicate = e instanceof DataIntegrityViolationException violation
+                        && ConstraintViolationUtil.isViolationOf(violation, Task.UNIQUE_NAME_CONSTRAINT);
+                if (duplicate && attempt < MAX_ATTEMPTS) {
+                    log.debug("Batch chunk [{}, {}) collided with a concurrent insert, retrying", from, to);
+                    continue;
+                }
+
+                log.warn("Batch chunk [{}, {}) was rolled back", from, to, e);
+                final String message = duplicate
+                        ? "Rolled back: a task with the same name was created concurrently"
+                        : "Rolled back because of a database error";
+                for (int index = from; index < to; index++) {
+                    if (results[index] == null) {
+                        results[index] = result(index, TaskBatchItemResult.Status.FAILED, null, message);
+                    }
+                }
+                return;
+            }
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            results[indexes.get(i)] = result(indexes.get(i), TaskBatchItemResult.Status.CREATED, tasks.get(i).getId(), null);
+        }
+        if (!tasks.isEmpty()) {
+            searchService.indexTasks(tasks.stream().map(taskConvertor::convertToSearchDocument).toList());
+            modificationVersions.tasksChanged(user.getUsername());
+        }
+    }
+
+    /**
+     * Inserts the valid, non-duplicate items of the chunk in one transaction, collecting them into {@code indexes} and
+     * {@code tasks}. Items that are reported individually get their result right away; a retry starts from scratch.
+     */
+    private void insertChunk(final List<TaskCreateRequest> requests, final int from, final int to, final User user,
+                             final TaskBatchItemResult[] results, final List<Integer> indexes, final List<Task> tasks) {
+        Arrays.fill(results, from, to, null);
+        indexes.clear();
+        tasks.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final List<Integer> validIndexes = new ArrayList<>();
+            for (int index = from; index < to; index++) {
+                final String violations = validate(requests.get(index));
+                if (violations == null) {
+                    validIndexes.add(index);
+                } else {
+                    results[index] = result(index, TaskBatchItemResult.Status.INVALID, null, violations);
+                }
+            }
+            if (validIndexes.isEmpty()) {
+                return;
+            }
+
+            final Set<String> names = validIndexes.stream().map(index -> requests.get(index).getName()).collect(Collectors.toSet());
+            final Set<String> categoryNames = validIndexes.stream().map(index -> requests.get(index).getCategory()).collect(Collectors.toSet());
+
+            final Map<String, Category> categories = categoryCache.findAllByName(categoryNames);
+            final Set<TaskKey> existingKeys = new HashSet<>(taskRepository.findKeysByOwnerAndNameIn(user.getId(), names));
+
+            for (final int index : validIndexes) {
+                final TaskCreateRequest request = requests.get(index);
+                final Category category = categories.get(request.getCategory());
+
+                if (category == null) {
+                    results[index] = result(index, TaskBatchItemResult.Status.CATEGORY_NOT_FOUND, null,
+                            "Category " + request.getCategory() + " not found");
+                } else if (!existingKeys.add(new TaskKey(request.getName(), category.getId()))) {
+                    results[index] = result(index, TaskBatchItemResult.Status.DUPLICATE, null,
+                            "Task with name " + request.getName() + " already exists in category " + request.getCategory());
+                } else {
+                    indexes.add(index);
+                    tasks.add(taskConvertor.convertToTaskEntity(request, user, category));
+                }
+            }
+
+            taskRepository.saveAll(tasks);
+            taskRepository.flush();
+        });
+    }
+
+    private String validate(final TaskCreateRequest request) {
+        if (request == null) {
+            return "Task must not be null";
+        }
+
+        final Set<ConstraintViolation<TaskCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining("; "));
+    }
+
+    private User resolveUser(final CallerContext caller) {
+        if (caller.userId() != null) {
+            return caller.toUserReference();
+        }
+
+        return userRepository.findByUsername(caller.username())
+                .orElseThrow(() -> new UserNotFoundException(caller.username()));
+    }
+
+    private static TaskBatchItemResult result(final int index, final TaskBatchItemResult.Status status, final Long id,
+                                              final String message) {
+        return TaskBatchItemResult.builder()
+                .index(index)
+                .status(status)
+                .id(id)
+                .message(message)
+                .build();
+    }
+}
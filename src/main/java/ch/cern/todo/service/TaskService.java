@@ -1,94 +1,288 @@
 package ch.cern.todo.service;
 
-import ch.cern.todo.util.SecurityUtil;
 import ch.cern.todo.dto.*;
 import ch.cern.todo.entity.Category;
 import ch.cern.todo.entity.Task;
 import ch.cern.todo.entity.User;
 import ch.cern.todo.exceptions.DuplicateResourceFoundException;
+import ch.cern.todo.exceptions.InvalidRequestException;
 import ch.cern.todo.exceptions.ResourceNotFoundException;
 import ch.cern.todo.exceptions.UnauthorizedException;
 import ch.cern.todo.exceptions.UserNotFoundException;
 import ch.cern.todo.mapper.TaskConvertor;
-import ch.cern.todo.repository.CategoryRepository;
 import ch.cern.todo.repository.TaskRepository;
 import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.util.ConstraintViolationUtil;
+import ch.cern.todo.util.FieldSelection;
+import ch.cern.todo.util.KeysetCursor;
+import ch.cern.todo.util.TransactionUtil;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
+    private static final String SORT_BY_ID = "id";
+    private static final String SORT_BY_DEADLINE = "deadline";
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int DUE_SOON_DEFAULT_LIMIT = 20;
+    private static final int DUE_SOON_MAX_LIMIT = 100;
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
     private final TaskConvertor taskConvertor;
-
-    public List<TaskResponse> getAllTasks(final TaskQueryParams requestParams) {
-        if(requestParams.getCreatedBy() == null && SecurityUtil.isNotAdmin()) {
-            requestParams.setCreatedBy(SecurityUtil.getLoggedInUsername());
+    private final SearchService searchService;
+    private final CategoryCache categoryCache;
+    private final ModificationVersions modificationVersions;
+
+    /**
+     * Restricts a listing to the caller's own tasks unless the caller is an admin.
+     */
+    public void authorizeListing(final TaskQueryParams requestParams, final CallerContext caller) {
+        if(requestParams.getCreatedBy() == null && caller.isNotAdmin()) {
+            requestParams.setCreatedBy(caller.username());
         }
-        if (SecurityUtil.isNotAdmin() && !requestParams.getCreatedBy().equals(SecurityUtil.getLoggedInUsername())) {
+        if (caller.isNotAdmin() && !requestParams.getCreatedBy().equals(caller.username())) {
             throw new UnauthorizedException("You are not allowed to see tasks created by " + requestParams.getCreatedBy() + "!");
         }
+    }
 
-        final List<Task> tasks = taskRepository.findAll(createSpecification(requestParams));
+    /**
+     * ETag of the listing {@link #getAllTasks} would return, computed from version counters without a query.
+     */
+    public String getListingETag(final TaskQueryParams requestParams, final CallerContext caller, final String query) {
+        authorizeListing(requestParams, caller);
 
-        return tasks.stream().map(taskConvertor::convertToTaskResponse).toList();
+        return modificationVersions.taskListingETag(requestParams.getCreatedBy(), query);
     }
 
-    public TaskResponse createTask(final TaskCreateRequest taskCreateRequest, final String userName) {
-        final User user = userRepository.findByUsername(userName)
-                .orElseThrow(() -> new UserNotFoundException(userName));
-        final Category category = categoryRepository.findByName(taskCreateRequest.getCategory())
-                .orElseThrow(() -> new ResourceNotFoundException("Category", taskCreateRequest.getCategory()));
+    /**
+     * Returns one keyset page. The exact total is only counted for the first page, the one without a cursor, when it
+     * is requested: following pages would repeat the same full count of the filter.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getAllTasks(final TaskQueryParams requestParams, final CallerContext caller) {
+        authorizeListing(requestParams, caller);
+
+        final int limit = CursorPage.resolveLimit(requestParams.getLimit());
+        final String sort = resolveSort(requestParams.getSort());
+        final Specification<Task> filter = createSpecification(requestParams, caller);
+        final Specification<Task> pageFilter = requestParams.getAfter() == null
+                ? filter
+                : filter.and(createKeysetSpecification(KeysetCursor.decode(requestParams.getAfter(), sort)));
+
+        final FieldSelection fields = FieldSelection.parse(requestParams.getFields(), TaskResponse.FIELDS, "id", sort);
+
+        final Sort order = toSort(sort, resolveOwnerId(requestParams, caller));
+        final List<TaskResponse> tasks = taskRepository.findAllResponses(pageFilter, order, limit + 1, fields);
+        final boolean hasNextPage = tasks.size() > limit;
+        final List<TaskResponse> page = hasNextPage ? tasks.subList(0, limit) : tasks;
 
-        final Optional<Task> optionalTask = taskRepository.findByNameAndCategoryAndCreatedBy(taskCreateRequest.getName(), category, user);
+        final String nextCursor = hasNextPage ? toCursor(sort, page.get(page.size() - 1)).encode() : null;
+        final Long totalCount = requestParams.isIncludeTotal() && requestParams.getAfter() == null ? taskRepository.count(filter) : null;
 
-        if(optionalTask.isPresent()) {
-            throw new DuplicateResourceFoundException("Task", "name", taskCreateRequest.getName());
+        return new CursorPage<>(page, nextCursor, totalCount);
+    }
+
+    /**
+     * Counts the tasks the caller may list, filtered like {@link #getAllTasks}, per category and per owner. Deadlines
+     * are bucketed into overdue (before today) and upcoming, and upcoming ones into due this week (up to and
+     * including Sunday). Runs one {@code GROUP BY} per grouping, or a single one when the listing is restricted to one
+     * owner, so the cost grows with the number of groups and not with the number of tasks returned.
+     */
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getTaskStats(final TaskQueryParams requestParams, final CallerContext caller) {
+        authorizeListing(requestParams, caller);
+
+        final LocalDate today = LocalDate.now();
+        final LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        final Specification<Task> filter = createSpecification(requestParams, caller);
+
+        final List<TaskGroupStats> byCategory = taskRepository.countByCategory(filter, today, endOfWeek);
+        final TaskGroupStats total = sum(requestParams.getCreatedBy(), byCategory);
+        final List<TaskGroupStats> byOwner = requestParams.getCreatedBy() == null
+                ? taskRepository.countByOwner(filter, today, endOfWeek)
+                : total.getTotal() == 0 ? List.of() : List.of(total);
+
+        return TaskStatsResponse.builder()
+                .today(today)
+                .endOfWeek(endOfWeek)
+                .total(total.getTotal())
+                .overdue(total.getOverdue())
+                .upcoming(total.getUpcoming())
+                .dueThisWeek(total.getDueThisWeek())
+                .byCategory(byCategory)
+                .byOwner(byOwner)
+                .build();
+    }
+
+    /**
+     * The {@code limit} tasks with the nearest deadline on or after {@code deadlineFrom} (today by default), soonest
+     * first, among the tasks the caller may list with the same filters as {@link #getAllTasks}. For the caller's own
+     * tasks this reads {@code limit} entries of {@code idx_tasks_user_deadline}, however many tasks they have.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getDueSoonTasks(final TaskQueryParams requestParams, final CallerContext caller) {
+        authorizeListing(requestParams, caller);
+
+        final int limit = requestParams.getLimit() == null ? DUE_SOON_DEFAULT_LIMIT : requestParams.getLimit();
+        if (limit < 1 || limit > DUE_SOON_MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + DUE_SOON_MAX_LIMIT);
+        }
+        if (requestParams.getDeadlineFrom() == null) {
+            requestParams.setDeadlineFrom(LocalDate.now());
         }
 
-        final Task taskToSave = taskConvertor.convertToTaskEntity(taskCreateRequest, user, category);
+        final FieldSelection fields = FieldSelection.parse(requestParams.getFields(), TaskResponse.FIELDS, "id", "deadline");
 
-        return taskConvertor.convertToTaskResponse(taskRepository.save(taskToSave));
+        return taskRepository.findAllResponses(createSpecification(requestParams, caller),
+                toSort(SORT_BY_DEADLINE, resolveOwnerId(requestParams, caller)), limit, fields);
     }
 
-    public TaskResponse updateTask(final TaskRequest taskRequest, final String userName, final Long id) {
+    /**
+     * Hands every matching task to {@code consumer} as it is read from the database, without materializing the
+     * result. Ignores pagination parameters.
+     */
+    @Transactional(readOnly = true)
+    public void streamTasks(final TaskQueryParams requestParams, final CallerContext caller, final Consumer<TaskResponse> consumer) {
+        authorizeListing(requestParams, caller);
+
+        final Sort sort = toSort(resolveSort(requestParams.getSort()), resolveOwnerId(requestParams, caller));
+        final FieldSelection fields = FieldSelection.parse(requestParams.getFields(), TaskResponse.FIELDS, "id");
+        try (final Stream<TaskResponse> tasks = taskRepository.streamAllResponses(createSpecification(requestParams, caller), sort, STREAM_FETCH_SIZE, fields)) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public TaskResponse createTask(final TaskCreateRequest taskCreateRequest, final CallerContext caller) {
+        final User user = resolveUser(caller);
+        final Category category = categoryCache.findByName(taskCreateRequest.getCategory())
+                .orElseThrow(() -> new ResourceNotFoundException("Category", taskCreateRequest.getCategory()));
+
+        final Task savedTask = saveUnique(taskConvertor.convertToTaskEntity(taskCreateRequest, user, category));
+        final TaskSearchDocument searchDocument = taskConvertor.convertToSearchDocument(savedTask);
+        TransactionUtil.afterCommit(() -> searchService.indexTask(searchDocument));
+        modificationVersions.tasksChanged(user.getUsername());
+
+        return taskConvertor.convertToTaskResponse(savedTask);
+    }
+
+    @Transactional
+    public TaskResponse updateTask(final TaskRequest taskRequest, final CallerContext caller, final Long id) {
         final Task task = findById(id);
 
-        if (SecurityUtil.isNotAdmin() && !task.getCreatedBy().getUsername().equals(userName)) {
+        if (!caller.isOwnerOrAdmin(task.getCreatedBy())) {
             throw new UnauthorizedException("You are not allowed to update this task!");
         }
 
-        final Task updatedTask = taskRepository.save(updateTask(task, taskRequest));
+        final Task updatedTask = saveUnique(updateTask(task, taskRequest));
+        final TaskSearchDocument searchDocument = taskConvertor.convertToSearchDocument(updatedTask);
+        TransactionUtil.afterCommit(() -> searchService.indexTask(searchDocument));
+        modificationVersions.tasksChanged(updatedTask.getCreatedBy().getUsername());
 
         return taskConvertor.convertToTaskResponse(updatedTask);
     }
 
-    public void deleteTask(final String userName, final Long id) {
+    @Transactional
+    public void deleteTask(final CallerContext caller, final Long id) {
         final Task task = findById(id);
 
-        if (SecurityUtil.isNotAdmin() && !task.getCreatedBy().getUsername().equals(userName)) {
+        if (!caller.isOwnerOrAdmin(task.getCreatedBy())) {
             throw new UnauthorizedException("You are not allowed to delete this category!");
         }
 
         taskRepository.delete(task);
+        TransactionUtil.afterCommit(() -> searchService.removeTask(task.getId()));
+        modificationVersions.tasksChanged(task.getCreatedBy().getUsername());
     }
 
-    private Specification<Task> createSpecification(final TaskQueryParams params) {
+    /**
+     * Moves every task matching the request to {@code targetCategory}. Non-admins can only touch their own tasks: the
+     * owner is part of the statement's {@code WHERE} clause. The ids of the matching tasks are read first and the
+     * {@code UPDATE} is limited to them, so the search index is refreshed for exactly the moved tasks. The rows are
+     * never loaded as entities. If a moved task's name is already taken in the target category the whole request is
+     * rolled back.
+     */
+    @Transactional
+    public TaskBulkResponse reassignTasks(final TaskBulkReassignRequest request, final CallerContext caller) {
+        final Category target = categoryCache.findByName(request.getTargetCategory())
+                .orElseThrow(() -> new ResourceNotFoundException("Category", request.getTargetCategory()));
+        final Specification<Task> spec = createBulkSpecification(request, resolveBulkScope(request, caller));
+        final List<Long> ids = taskRepository.findIds(spec);
+
+        int updated = 0;
+        try {
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                updated += taskRepository.updateCategory(spec.and(hasIdIn(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())))),
+                        target.getId());
+            }
+        } catch (final DataIntegrityViolationException e) {
+            if (ConstraintViolationUtil.isViolationOf(e, Task.UNIQUE_NAME_CONSTRAINT)) {
+                throw new DuplicateResourceFoundException("A task with the same name in category '" + target.getName() + "'");
+            }
+            throw e;
+        }
+
+        TransactionUtil.afterCommit(() -> searchService.reindexTasks(ids));
+        bulkTasksChanged(request, caller);
+
+        return new TaskBulkResponse(updated);
+    }
+
+    /**
+     * Deletes every task matching the request, restricted to the caller's own tasks unless the caller is an admin. Like
+     * {@link #reassignTasks}, the {@code DELETE} is limited to the ids read beforehand, which are then removed from the
+     * search index.
+     */
+    @Transactional
+    public TaskBulkResponse deleteTasks(final TaskBulkRequest request, final CallerContext caller) {
+        final Specification<Task> spec = createBulkSpecification(request, resolveBulkScope(request, caller));
+        final List<Long> ids = taskRepository.findIds(spec);
+
+        long deleted = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            deleted += taskRepository.delete(spec.and(hasIdIn(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())))));
+        }
+
+        TransactionUtil.afterCommit(() -> searchService.reindexTasks(ids));
+        bulkTasksChanged(request, caller);
+
+        return new TaskBulkResponse(deleted);
+    }
+
+    /**
+     * When the caller lists their own tasks the owner is matched on {@code tasks.user_id} rather than through a join
+     * on the username, so that owner and deadline conditions form a single range on {@code idx_tasks_user_deadline}.
+     */
+    private Specification<Task> createSpecification(final TaskQueryParams params, final CallerContext caller) {
+        if (params.getDeadlineFrom() != null && params.getDeadlineTo() != null && params.getDeadlineFrom().isAfter(params.getDeadlineTo())) {
+            throw new InvalidRequestException("deadlineFrom must not be after deadlineTo");
+        }
+        final Long ownerId = resolveOwnerId(params, caller);
+
         return (root, query, criteriaBuilder) -> {
             final List<Predicate> predicates = new ArrayList<>();
 
-            if (Objects.nonNull(params.getCreatedBy())) {
+            if (Objects.nonNull(ownerId)) {
+                predicates.add(criteriaBuilder.equal(root.get("createdBy").get("id"), ownerId));
+            } else if (Objects.nonNull(params.getCreatedBy())) {
                 predicates.add(criteriaBuilder.equal(root.get("createdBy").get("username"), params.getCreatedBy()));
             }
 
@@ -108,10 +302,176 @@ public class TaskService {
                 predicates.add(criteriaBuilder.lessThan(root.get("deadline"), params.getDeadline()));
             }
 
+            if (Objects.nonNull(params.getDeadlineFrom())) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("deadline"), params.getDeadlineFrom()));
+            }
+
+            if (Objects.nonNull(params.getDeadlineTo())) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("deadline"), params.getDeadlineTo()));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Checks the request and resolves its owner and category names to ids: bulk statements cannot join, so every
+     * predicate has to be on a column of {@code tasks}.
+     */
+    private BulkScope resolveBulkScope(final TaskBulkRequest request, final CallerContext caller) {
+        if (request.hasNoCriteria()) {
+            throw new InvalidRequestException("At least one of ids, createdBy, name, description, category or deadline is required");
+        }
+        if (caller.isNotAdmin() && request.getCreatedBy() != null && !request.getCreatedBy().equals(caller.username())) {
+            throw new UnauthorizedException("You are not allowed to modify tasks created by " + request.getCreatedBy() + "!");
+        }
+
+        final Long ownerId;
+        if (caller.isNotAdmin()) {
+            ownerId = resolveUser(caller).getId();
+        } else if (request.getCreatedBy() != null) {
+            ownerId = userRepository.findByUsername(request.getCreatedBy())
+                    .orElseThrow(() -> new UserNotFoundException(request.getCreatedBy())).getId();
+        } else {
+            ownerId = null;
+        }
+        final Long categoryId = request.getCategory() == null ? null : categoryCache.findByName(request.getCategory())
+                .orElseThrow(() -> new ResourceNotFoundException("Category", request.getCategory())).getId();
+        final List<Long> ids = request.getIds() == null ? List.of() : List.copyOf(request.getIds());
+
+        return new BulkScope(ownerId, categoryId, ids);
+    }
+
+    private Specification<Task> createBulkSpecification(final TaskBulkRequest request, final BulkScope scope) {
+        return (root, query, criteriaBuilder) -> {
+            final List<Predicate> predicates = new ArrayList<>();
+
+            if (Objects.nonNull(scope.ownerId())) {
+                predicates.add(criteriaBuilder.equal(root.get("createdBy").get("id"), scope.ownerId()));
+            }
+
+            if (!scope.ids().isEmpty()) {
+                predicates.add(root.get("id").in(scope.ids()));
+            }
+
+            if (Objects.nonNull(request.getName())) {
+                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + request.getName().toLowerCase() + "%"));
+            }
+
+            if (Objects.nonNull(request.getDescription())) {
+                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + request.getDescription().toLowerCase() + "%"));
+            }
+
+            if (Objects.nonNull(scope.categoryId())) {
+                predicates.add(criteriaBuilder.equal(root.get("category").get("id"), scope.categoryId()));
+            }
+
+            if (Objects.nonNull(request.getDeadline())) {
+                predicates.add(criteriaBuilder.lessThan(root.get("deadline"), request.getDeadline()));
+            }
+
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
 
+    private static Specification<Task> hasIdIn(final List<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    /**
+     * A bulk statement is restricted to one owner for non-admins and for admins naming one; otherwise it may have
+     * touched anyone's tasks.
+     */
+    private void bulkTasksChanged(final TaskBulkRequest request, final CallerContext caller) {
+        final String owner = caller.isNotAdmin() ? caller.username() : request.getCreatedBy();
+        if (owner == null) {
+            modificationVersions.allTasksChanged();
+        } else {
+            modificationVersions.tasksChanged(owner);
+        }
+    }
+
+    private User resolveUser(final CallerContext caller) {
+        if (caller.userId() != null) {
+            return caller.toUserReference();
+        }
+
+        return userRepository.findByUsername(caller.username())
+                .orElseThrow(() -> new UserNotFoundException(caller.username()));
+    }
+
+    /**
+     * Rows strictly after the cursor in {@code (deadline, id)} or {@code (id)} order, so that each page is an index
+     * range scan starting where the previous one ended instead of an ever growing OFFSET.
+     */
+    private Specification<Task> createKeysetSpecification(final KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (SORT_BY_ID.equals(cursor.sort())) {
+                return criteriaBuilder.greaterThan(root.get("id"), cursor.id());
+            }
+
+            return criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(root.get("deadline"), cursor.deadline()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("deadline"), cursor.deadline()),
+                            criteriaBuilder.greaterThan(root.get("id"), cursor.id())));
+        };
+    }
+
+    private static TaskGroupStats sum(final String name, final List<TaskGroupStats> groups) {
+        final TaskGroupStats sum = new TaskGroupStats(name, 0, 0, 0, 0);
+        for (final TaskGroupStats group : groups) {
+            sum.setTotal(sum.getTotal() + group.getTotal());
+            sum.setOverdue(sum.getOverdue() + group.getOverdue());
+            sum.setUpcoming(sum.getUpcoming() + group.getUpcoming());
+            sum.setDueThisWeek(sum.getDueThisWeek() + group.getDueThisWeek());
+        }
+        return sum;
+    }
+
+    private static String resolveSort(final String sort) {
+        if (sort == null) {
+            return SORT_BY_ID;
+        }
+        if (!SORT_BY_ID.equals(sort) && !SORT_BY_DEADLINE.equals(sort)) {
+            throw new InvalidRequestException("sort must be one of '" + SORT_BY_ID + "', '" + SORT_BY_DEADLINE + "'");
+        }
+        return sort;
+    }
+
+    private static Long resolveOwnerId(final TaskQueryParams params, final CallerContext caller) {
+        return caller.userId() != null && caller.username().equals(params.getCreatedBy()) ? caller.userId() : null;
+    }
+
+    /**
+     * With the owner fixed by {@code tasks.user_id = ?} the order is led by {@code user_id} as well. It does not change
+     * the order, but H2 only reads {@code idx_tasks_user_id} or {@code idx_tasks_user_deadline} in index order, and
+     * stops after {@code limit} entries, when the {@code ORDER BY} starts with the index's leading column.
+     */
+    private static Sort toSort(final String sort, final Long ownerId) {
+        final Sort order = SORT_BY_ID.equals(sort) ? Sort.by("id") : Sort.by("deadline", "id");
+        return ownerId == null ? order : Sort.by("createdBy.id").and(order);
+    }
+
+    private static KeysetCursor toCursor(final String sort, final TaskResponse last) {
+        return new KeysetCursor(sort, SORT_BY_ID.equals(sort) ? null : last.getDeadline(), last.getId());
+    }
+
+    /**
+     * Writes the task in one round trip and lets the unique constraint on {@code (name, category_id, user_id)} detect
+     * duplicates, so that concurrent identical requests cannot both get through a prior lookup.
+     */
+    private Task saveUnique(final Task task) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (final DataIntegrityViolationException e) {
+            if (ConstraintViolationUtil.isViolationOf(e, Task.UNIQUE_NAME_CONSTRAINT)) {
+                throw new DuplicateResourceFoundException("Task", "name", task.getName());
+            }
+            throw e;
+        }
+    }
+
     private Task findById(final Long id) {
         return taskRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Task", id.toString()));
     }
@@ -128,7 +488,7 @@ public class TaskService {
 
 
         if(taskRequest.getCategory() != null) {
-            final Category category = categoryRepository.findByName(taskRequest.getCategory())
+            final Category category = categoryCache.findByName(taskRequest.getCategory())
                     .orElseThrow(() -> new ResourceNotFoundException("Category", taskRequest.getCategory()));
 
             existingTask.setCategory(category);
@@ -136,4 +496,11 @@ public class TaskService {
 
         return existingTask;
     }
+
+    /**
+     * The owner and category of a bulk request resolved to ids. A {@code null} owner or category, or empty ids, do not
+     * restrict.
+     */
+    private record BulkScope(Long ownerId, Long categoryId, List<Long> ids) {
+    }
 }
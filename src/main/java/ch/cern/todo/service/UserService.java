@@ -3,19 +3,23 @@ package ch.cern.todo.service;
 import ch.cern.todo.entity.User;
 import ch.cern.todo.exceptions.DuplicateResourceFoundException;
 import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CredentialCache;
+import ch.cern.todo.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final CredentialCache credentialCache;
 
     public User registerUser(final String username, final String password, final String role) {
         if (userRepository.findByUsername(username).isPresent()) {
@@ -24,7 +28,7 @@ public class UserService implements UserDetailsService {
 
         final User newUser = User.builder()
                 .username(username)
-                .password(passwordEncoder.encode(password))
+                .password(passwordHashingService.encode(password))
                 .role(role)
                 .build();
 
@@ -35,4 +39,19 @@ public class UserService implements UserDetailsService {
     public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found " + username));
     }
+
+    /**
+     * Called after a successful login when the stored hash was produced with an outdated BCrypt cost. The bulk update
+     * bypasses the persistence context, so the credentials cached for the user are dropped here once it commits.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(final UserDetails userDetails, final String newPassword) {
+        userRepository.updatePassword(userDetails.getUsername(), newPassword);
+
+        final User user = (User) userDetails;
+        user.setPassword(newPassword);
+        TransactionUtil.afterCommit(() -> credentialCache.invalidate(user.getId()));
+        return user;
+    }
 }
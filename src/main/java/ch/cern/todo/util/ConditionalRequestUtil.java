@@ -0,0 +1,31 @@
+package ch.cern.todo.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+public final class ConditionalRequestUtil {
+
+    /**
+     * Listings may be kept by the client, but have to be revalidated with {@code If-None-Match} on every use.
+     */
+    private static final String LISTING_CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequestUtil() {
+    }
+
+    /**
+     * Sets the {@code ETag} and {@code Cache-Control} headers of a listing and tells whether the client's
+     * {@code If-None-Match} already matches, in which case the response is a {@code 304} and the handler should
+     * return {@code null} without loading anything.
+     */
+    public static boolean isNotModified(final ServletWebRequest webRequest, final String eTag) {
+        final HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, LISTING_CACHE_CONTROL);
+        }
+
+        return webRequest.checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,32 @@
+package ch.cern.todo.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public final class ConstraintViolationUtil {
+
+    private ConstraintViolationUtil() {
+    }
+
+    /**
+     * Tells whether {@code exception} was caused by the database rejecting a write because of the given named
+     * constraint. Databases report the name with their own case and schema or index decorations, so the check is a
+     * case-insensitive containment on the name Hibernate extracted, falling back to the driver's message.
+     */
+    public static boolean isViolationOf(final DataIntegrityViolationException exception, final String constraintName) {
+        final String expected = constraintName.toLowerCase(Locale.ROOT);
+
+        Throwable cause = exception;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(expected);
+            }
+            cause = cause.getCause();
+        }
+
+        final String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(expected);
+    }
+}
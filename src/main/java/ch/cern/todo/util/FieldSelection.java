@@ -0,0 +1,59 @@
+package ch.cern.todo.util;
+
+import ch.cern.todo.exceptions.InvalidRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Response fields requested with a {@code fields=name,deadline} parameter. Listings only select those columns, and
+ * the fields left out stay {@code null} and are omitted from the JSON.
+ *
+ * @param fields the selected field names, or {@code null} for all of them
+ */
+public record FieldSelection(Set<String> fields) {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    public boolean includes(final String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * The selection of a criteria query for {@code field}: the path when it is selected, otherwise a {@code null}
+     * literal, so the column is not read and the path's joins are never created.
+     */
+    public <T> Expression<T> select(final String field, final CriteriaBuilder criteriaBuilder, final Class<T> type,
+                                    final Supplier<Expression<T>> path) {
+        return includes(field) ? path.get() : criteriaBuilder.nullLiteral(type);
+    }
+
+    /**
+     * Parses a comma separated list of field names out of {@code available}. The {@code required} fields, which the
+     * listing needs itself (e.g. for its cursor), are always added. A missing or blank parameter selects everything.
+     */
+    public static FieldSelection parse(final String value, final Collection<String> available, final String... required) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+
+        final Set<String> fields = new TreeSet<>(Arrays.asList(required));
+        for (final String field : value.split(",")) {
+            final String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(trimmed)) {
+                throw new InvalidRequestException("Unknown field '" + trimmed + "', expected any of " + String.join(", ", available));
+            }
+            fields.add(trimmed);
+        }
+
+        return new FieldSelection(Set.copyOf(fields));
+    }
+}
@@ -0,0 +1,47 @@
+package ch.cern.todo.util;
+
+import ch.cern.todo.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page in a keyset-paginated listing, handed to clients as an opaque string.
+ *
+ * @param sort     sort key the cursor was produced for
+ * @param deadline deadline of the last row, only set when sorting by deadline
+ * @param id       id of the last row, the tie breaker for every sort
+ */
+public record KeysetCursor(String sort, LocalDate deadline, Long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        final String raw = deadline == null
+                ? String.join(SEPARATOR, sort, id.toString())
+                : String.join(SEPARATOR, sort, deadline.toString(), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()} for the given sort key.
+     */
+    public static KeysetCursor decode(final String value, final String expectedSort) {
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(SEPARATOR);
+
+            if (parts.length == 2 && parts[0].equals(expectedSort)) {
+                return new KeysetCursor(parts[0], null, Long.parseLong(parts[1]));
+            }
+            if (parts.length == 3 && parts[0].equals(expectedSort)) {
+                return new KeysetCursor(parts[0], LocalDate.parse(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (final IllegalArgumentException | DateTimeParseException e) {
+            // reported below
+        }
+
+        throw new InvalidRequestException("Invalid pagination cursor for sort '" + expectedSort + "'");
+    }
+}
@@ -0,0 +1,24 @@
+package ch.cern.todo.util;
+
+import ch.cern.todo.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+
+public final class PaginationUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private PaginationUtil() {
+    }
+
+    public static HttpHeaders headersOf(final CursorPage<?> page) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (page.getTotalCount() != null) {
+            headers.add(TOTAL_COUNT_HEADER, page.getTotalCount().toString());
+        }
+        return headers;
+    }
+}
@@ -1,12 +1,18 @@
 package ch.cern.todo.util;
 
+import ch.cern.todo.entity.User;
+import ch.cern.todo.security.CallerContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Configuration
 public class SecurityUtil {
 
+    private static final String CALLER_ATTRIBUTE = SecurityUtil.class.getName() + ".CALLER";
+
     public static Authentication getAuthentication() {
         return SecurityContextHolder.getContext().getAuthentication();
     }
@@ -17,7 +23,39 @@ public class SecurityUtil {
     }
 
     public static boolean isNotAdmin() {
-        return SecurityUtil.getAuthentication().getAuthorities().stream()
-                .noneMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+        return getCaller().isNotAdmin();
+    }
+
+    /**
+     * Returns the caller of the current request. It is resolved from the security context on first use
+     * and then kept in the request attributes, so repeated calls within a request are free.
+     */
+    public static CallerContext getCaller() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(CALLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CallerContext caller) {
+            return caller;
+        }
+
+        final CallerContext caller = resolveCaller(getAuthentication());
+        if (attributes != null) {
+            attributes.setAttribute(CALLER_ATTRIBUTE, caller, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return caller;
+    }
+
+    private static CallerContext resolveCaller(final Authentication auth) {
+        if (auth == null) {
+            return new CallerContext(null, "anonymous", false);
+        }
+
+        if (auth.getPrincipal() instanceof User user) {
+            return CallerContext.of(user);
+        }
+
+        final boolean admin = auth.getAuthorities().stream()
+                .anyMatch(authority -> CallerContext.ADMIN_ROLE.equals(authority.getAuthority()));
+
+        return new CallerContext(null, auth.getName(), admin);
     }
 }
@@ -0,0 +1,45 @@
+CREATE TABLE users
+(
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50)  NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE task_categories
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    user_id     BIGINT       NOT NULL,
+    CONSTRAINT uk_task_categories_name UNIQUE (name),
+    CONSTRAINT fk_task_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE tasks
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    deadline    DATE         NOT NULL,
+    category_id BIGINT       NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    CONSTRAINT fk_tasks_category FOREIGN KEY (category_id) REFERENCES task_categories (id),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Owner listings in the default keyset order (WHERE user_id = ? AND id > ? ORDER BY id); also backs fk_tasks_user
+CREATE INDEX idx_tasks_user_id ON tasks (user_id, id);
+
+-- Owner listings sorted or filtered by deadline (WHERE user_id = ? AND deadline < ? ORDER BY deadline, id)
+CREATE INDEX idx_tasks_user_deadline ON tasks (user_id, deadline, id);
+
+-- Duplicate check on task creation (WHERE name = ? AND category_id = ? AND user_id = ?)
+CREATE INDEX idx_tasks_name_category_user ON tasks (name, category_id, user_id);
+
+-- Category filter and category deletion; also backs fk_tasks_category
+CREATE INDEX idx_tasks_category ON tasks (category_id);
+
+-- Backs fk_task_categories_user, used when a user is deleted
+CREATE INDEX idx_task_categories_user ON task_categories (user_id);
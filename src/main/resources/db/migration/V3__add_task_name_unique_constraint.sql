@@ -0,0 +1,7 @@
+-- A task name is unique per owner and category. The constraint replaces the check-then-insert lookup on task creation,
+-- which needed a round trip of its own and let concurrent identical creates through. Its unique index serves the same
+-- (name, category_id, user_id) lookups as the plain index it replaces.
+-- Fails if the table already holds duplicates; those have to be renamed or removed by hand first.
+DROP INDEX idx_tasks_name_category_user;
+
+ALTER TABLE tasks ADD CONSTRAINT uk_tasks_name_category_user UNIQUE (name, category_id, user_id);
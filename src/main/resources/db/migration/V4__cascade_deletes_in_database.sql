@@ -0,0 +1,11 @@
+-- Deleting a category or user removes its rows in the database in the same statement, instead of Hibernate loading
+-- every child entity and deleting it one row at a time. The existing indexes on tasks (category_id) and
+-- tasks (user_id, id) and task_categories (user_id) keep the cascades from scanning the child tables.
+ALTER TABLE tasks DROP CONSTRAINT fk_tasks_category;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_category FOREIGN KEY (category_id) REFERENCES task_categories (id) ON DELETE CASCADE;
+
+ALTER TABLE tasks DROP CONSTRAINT fk_tasks_user;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+ALTER TABLE task_categories DROP CONSTRAINT fk_task_categories_user;
+ALTER TABLE task_categories ADD CONSTRAINT fk_task_categories_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
@@ -0,0 +1,134 @@
+package ch.cern.todo.config;
+
+import ch.cern.todo.repository.CategoryRepository;
+import ch.cern.todo.service.CategoryCache;
+import ch.cern.todo.service.ModificationVersions;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Generates a small dataset against the real schema. Runs without a test transaction because the generator commits
+ * every batch itself.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatasetGeneratorTest {
+
+    private static final int USERS = 20;
+    private static final int CATEGORIES = 5;
+    private static final int TASKS = 2_000;
+    private static final String REFERENCE_DATE = "2025-01-01";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void shouldGenerateSkewedDataset_whenRunWithSmallSettings() {
+        generator(42).generate();
+
+        assertEquals(USERS + 1, count("SELECT COUNT(*) FROM users"));
+        assertEquals(CATEGORIES, count("SELECT COUNT(*) FROM task_categories"));
+        assertEquals(TASKS, count("SELECT COUNT(*) FROM tasks"));
+
+        final long heaviestUser = count("SELECT COUNT(*) FROM tasks t JOIN users u ON u.id = t.user_id WHERE u.username = 'dataset-user-01'");
+        final long lightestUser = count("SELECT COUNT(*) FROM tasks t JOIN users u ON u.id = t.user_id WHERE u.username = 'dataset-user-20'");
+        assertTrue(heaviestUser > 3 * TASKS / USERS, "heaviest user owns " + heaviestUser + " tasks");
+        assertTrue(heaviestUser > 5 * lightestUser, heaviestUser + " vs " + lightestUser + " tasks");
+
+        final long maxId = count("SELECT MAX(id) FROM tasks");
+        assertTrue(count("SELECT NEXT VALUE FOR tasks_seq") > maxId);
+    }
+
+    /**
+     * The second run starts from a later {@code tasks_seq} value, so the rows only match if nothing but the ids
+     * depends on the database.
+     */
+    @Test
+    void shouldGenerateSameRows_whenSeedIsTheSame() {
+        generator(7).generate();
+        final List<Map<String, Object>> first = fingerprint();
+
+        deleteAll();
+        generator(7).generate();
+
+        assertEquals(first, fingerprint());
+        assertEquals("dataset-task-0001", first.get(0).get("NAME"));
+        final LocalDate referenceDate = LocalDate.parse(REFERENCE_DATE);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE deadline < ? OR deadline >= ?", Long.class,
+                Date.valueOf(referenceDate.minusYears(2)), Date.valueOf(referenceDate.plusYears(2))));
+    }
+
+    @Test
+    void shouldSkipGeneration_whenDatasetIsComplete() {
+        generator(42).generate();
+
+        generator(42).run(null);
+
+        assertEquals(USERS + 1, count("SELECT COUNT(*) FROM users"));
+        assertEquals(TASKS, count("SELECT COUNT(*) FROM tasks"));
+    }
+
+    @Test
+    void shouldRefuseToStart_whenEarlierGenerationWasInterrupted() {
+        generator(42).generate();
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", DatasetGenerator.ADMIN_USERNAME);
+
+        assertThrows(IllegalStateException.class, () -> generator(42).run(null));
+        assertEquals(TASKS, count("SELECT COUNT(*) FROM tasks"));
+    }
+
+    private DatasetGenerator generator(final long seed) {
+        return new DatasetGenerator(jdbcTemplate, transactionManager, new BCryptPasswordEncoder(4), entityManagerFactory,
+                new CategoryCache(categoryRepository), new ModificationVersions(),
+                USERS, CATEGORIES, TASKS, seed, 1.1, 1.0, 4, REFERENCE_DATE, 500);
+    }
+
+    private List<Map<String, Object>> fingerprint() {
+        return jdbcTemplate.queryForList("""
+                SELECT t.name, t.description, u.username, c.name AS category, t.deadline
+                FROM tasks t JOIN users u ON u.id = t.user_id JOIN task_categories c ON c.id = t.category_id
+                ORDER BY t.id""");
+    }
+
+    private long count(final String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private void deleteAll() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM task_categories");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+}
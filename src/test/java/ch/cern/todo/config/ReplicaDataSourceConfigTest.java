@@ -0,0 +1,121 @@
+package ch.cern.todo.config;
+
+import ch.cern.todo.dto.SearchQueryParams;
+import ch.cern.todo.dto.SearchResult;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.entity.User;
+import ch.cern.todo.repository.CategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.service.SearchService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against two separate in-memory H2 databases with the same schema, so that the database answering a query
+ * shows whether it went to the primary or to the replica. Nothing replicates between them: a row written through the
+ * application only exists on the primary.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=" + ReplicaDataSourceConfigTest.PRIMARY_URL,
+        "todo.datasource.replica.url=" + ReplicaDataSourceConfigTest.REPLICA_URL,
+        "todo.datasource.replica.username=sa",
+        "todo.datasource.replica.password=password",
+        "todo.search.rebuild-on-startup=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfig.class, SearchService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaDataSourceConfigTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    static Path indexDir;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "password")
+                .locations("classpath:db/migration", "classpath:ch/cern/todo/migration")
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void searchIndex(final DynamicPropertyRegistry registry) {
+        registry.add("todo.search.index-dir", () -> indexDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldWriteToPrimaryAndReadFromReplica_whenTransactionIsReadOnly() {
+        userRepository.save(User.builder().username("routed").password("{noop}secret").role("ROLE_USER").build());
+
+        assertEquals(1, countUsers(false));
+        assertEquals(0, countUsers(true));
+    }
+
+    @Test
+    void shouldReindexFromPrimary_whenTasksWereJustWritten() {
+        final User owner = userRepository.save(User.builder().username("routed").password("{noop}secret").role("ROLE_USER").build());
+        final Category category = categoryRepository.save(Category.builder().name("Routed").description("Routed tasks").createdBy(owner).build());
+        final Task task = taskRepository.save(Task.builder().name("Replicated later").description("Not on the replica yet")
+                .deadline(LocalDate.of(2030, 1, 1)).category(category).createdBy(owner).build());
+
+        searchService.reindexTasks(List.of(task.getId()));
+
+        final SearchQueryParams params = new SearchQueryParams();
+        params.setQ("replicated");
+        assertEquals(List.of(task.getId()), searchService.search(params, new CallerContext(owner.getId(), "routed", false))
+                .stream().map(SearchResult::getId).toList());
+    }
+
+    private long countUsers(final boolean readOnly) {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status -> userRepository.count());
+    }
+}
@@ -0,0 +1,182 @@
+package ch.cern.todo.config;
+
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.entity.User;
+import ch.cern.todo.repository.CategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares throughput and latency of a burst of listing requests served by a platform thread pool the size of
+ * Tomcat's default, by one virtual thread per request, and by virtual threads behind the {@link AdmissionControlFilter}.
+ * Every request holds a connection for a query plus a simulated network round trip, so the Hikari pool of
+ * {@value #POOL_SIZE} connections is the bottleneck, as it is for the real API. Latencies are measured from the start
+ * of the burst and include queueing.
+ * <p>
+ * Excluded from {@code ./gradlew test}, run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual-thread-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=" + VirtualThreadBenchmarkTest.POOL_SIZE
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VirtualThreadBenchmarkTest {
+
+    static final int POOL_SIZE = 10;
+    private static final int REQUESTS = 20_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final Duration ROUND_TRIP = Duration.ofMillis(2);
+    private static final Duration ADMISSION_TIMEOUT = Duration.ofMinutes(1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate readOnlyTransaction;
+    private Specification<Task> ownedByUser;
+
+    @BeforeEach
+    void setUp() {
+        final User user = userRepository.save(User.builder().username("benchmark").password("{noop}secret").role("ROLE_USER").build());
+        final Category category = categoryRepository.save(Category.builder().name("benchmark").description("").createdBy(user).build());
+        final List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(Task.builder().name("task-" + i).description("").deadline(LocalDate.now().plusDays(i)).category(category).createdBy(user).build());
+        }
+        taskRepository.saveAll(tasks);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        ownedByUser = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("createdBy").get("id"), user.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void shouldServeBurstOnVirtualThreads_withConnectionPoolSizedAdmission() throws Exception {
+        final AdmissionControlFilter admission = new AdmissionControlFilter(POOL_SIZE, ADMISSION_TIMEOUT, new ObjectMapper());
+        final FilterChain handler = (request, response) -> handleRequest();
+
+        System.out.printf("%-28s %10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "failed");
+        run("platform, " + PLATFORM_THREADS + " threads", Executors.newFixedThreadPool(PLATFORM_THREADS), this::handleRequest);
+        run("virtual", Executors.newVirtualThreadPerTaskExecutor(), this::handleRequest);
+        final int failed = run("virtual + admission", Executors.newVirtualThreadPerTaskExecutor(), () -> {
+            final MockHttpServletResponse response = new MockHttpServletResponse();
+            admission.doFilter(new MockHttpServletRequest("GET", "/api/v1/tasks"), response, handler);
+            if (response.getStatus() != 200) {
+                throw new IllegalStateException("Rejected with " + response.getStatus());
+            }
+        });
+
+        assertEquals(0, failed);
+        assertEquals(0, admission.rejectedCount());
+    }
+
+    private void handleRequest() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            taskRepository.findAllResponses(ownedByUser, Sort.by("id"), 50);
+            try {
+                Thread.sleep(ROUND_TRIP);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private int run(final String mode, final ExecutorService executor, final Request request) throws Exception {
+        final AtomicLongArray latencies = new AtomicLongArray(REQUESTS);
+        final AtomicInteger failed = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        final long start = System.nanoTime();
+
+        try (executor) {
+            for (int i = 0; i < REQUESTS; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        request.handle();
+                    } catch (final Exception e) {
+                        failed.incrementAndGet();
+                    }
+                    latencies.set(index, System.nanoTime() - start);
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        final long[] sorted = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+
+        System.out.printf("%-28s %10.0f %10.1f %10.1f %10.1f %8d%n", mode, REQUESTS / (elapsed / 1e9),
+                millis(sorted[REQUESTS / 2]), millis(sorted[REQUESTS * 99 / 100]), millis(sorted[REQUESTS - 1]), failed.get());
+
+        return failed.get();
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void handle() throws Exception;
+    }
+}
@@ -0,0 +1,59 @@
+package ch.cern.todo.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application with warm-up enabled, so that a failing round fails the context, and checks that the rounds
+ * ran and left nothing behind.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warm-up;DB_CLOSE_DELAY=-1",
+        "todo.warmup.enabled=true",
+        "todo.warmup.max-duration=10s",
+        "todo.warmup.stable-rounds=1"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class WarmUpRunnerTest {
+
+    @TempDir
+    static Path indexDir;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void searchIndex(final DynamicPropertyRegistry registry) {
+        registry.add("todo.search.index-dir", () -> indexDir.toString());
+    }
+
+    @Test
+    void shouldRunRoundsAndRollThemBack_whenWarmUpIsEnabled(final CapturedOutput output) {
+        final Matcher rounds = Pattern.compile("Warm-up ran (\\d+) rounds").matcher(output.getOut());
+        assertTrue(rounds.find(), "warm-up did not run");
+        assertTrue(Integer.parseInt(rounds.group(1)) > 0, rounds.group());
+
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE username LIKE 'warm-up-%'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM task_categories WHERE name LIKE 'warm-up-%'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks WHERE name LIKE 'warm-up-%'"));
+    }
+
+    private long count(final String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -1,6 +1,8 @@
 package ch.cern.todo.controller;
 
 import ch.cern.todo.dto.CategoryCreateRequest;
+import ch.cern.todo.dto.CursorPage;
+import ch.cern.todo.security.CallerContext;
 import ch.cern.todo.util.SecurityUtil;
 import ch.cern.todo.dto.CategoryRequest;
 import ch.cern.todo.dto.CategoryResponse;
@@ -42,6 +44,8 @@ public class CategoryControllerTest {
 
     private static final String CATEGORY_URL = "/api/v1/categories";
 
+    private static final CallerContext USER = new CallerContext(2L, "user", false);
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(categoryController).build();
@@ -64,7 +68,7 @@ public class CategoryControllerTest {
                         .build()
         );
 
-        when(categoryService.getAllCategories(any(CategoryQueryParams.class))).thenReturn(categoryResponses);
+        when(categoryService.getAllCategories(any(CategoryQueryParams.class))).thenReturn(new CursorPage<>(categoryResponses, null, null));
 
         mockMvc.perform(get(CATEGORY_URL))
                 .andExpect(status().isOk())
@@ -77,9 +81,20 @@ public class CategoryControllerTest {
         verify(categoryService, times(1)).getAllCategories(any(CategoryQueryParams.class));
     }
 
+    @Test
+    void shouldReturnNotModifiedWithoutQuerying_whenETagMatches() throws Exception {
+        when(categoryService.getListingETag("limit=10")).thenReturn("\"v1\"");
+
+        mockMvc.perform(get(CATEGORY_URL + "?limit=10").header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1\""));
+
+        verify(categoryService, never()).getAllCategories(any(CategoryQueryParams.class));
+    }
+
     @Test
     void shouldReturnEmptyList_whenNoCategoriesExist() throws Exception {
-        when(categoryService.getAllCategories(any(CategoryQueryParams.class))).thenReturn(Collections.emptyList());
+        when(categoryService.getAllCategories(any(CategoryQueryParams.class))).thenReturn(new CursorPage<>(Collections.emptyList(), null, null));
 
         mockMvc.perform(get(CATEGORY_URL))
                 .andExpect(status().isOk())
@@ -94,8 +109,8 @@ public class CategoryControllerTest {
         final CategoryResponse categoryResponse = new CategoryResponse(1L, "Gym", "Gym-related tasks", "user");
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
-            when(categoryService.createCategory(any(CategoryCreateRequest.class), eq("user")))
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
+            when(categoryService.createCategory(any(CategoryCreateRequest.class), eq(USER)))
                     .thenReturn(categoryResponse);
 
             mockMvc.perform(post(CATEGORY_URL)
@@ -109,7 +124,7 @@ public class CategoryControllerTest {
                     .andExpect(jsonPath("$.createdBy").value("user"));
         }
 
-        verify(categoryService, times(1)).createCategory(any(CategoryCreateRequest.class), eq("user"));
+        verify(categoryService, times(1)).createCategory(any(CategoryCreateRequest.class), eq(USER));
     }
 
     @Test
@@ -131,9 +146,9 @@ public class CategoryControllerTest {
         final CategoryResponse categoryResponse = new CategoryResponse(categoryId, "Gym updated", "Description Updated", "user");
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
-            when(categoryService.updateCategory(any(CategoryRequest.class), eq("user"), eq(categoryId)))
+            when(categoryService.updateCategory(any(CategoryRequest.class), eq(USER), eq(categoryId)))
                     .thenReturn(categoryResponse);
 
             mockMvc.perform(put(CATEGORY_URL + "/" + categoryId)
@@ -145,7 +160,7 @@ public class CategoryControllerTest {
                     .andExpect(jsonPath("$.description").value("Description Updated"))
                     .andExpect(jsonPath("$.createdBy").value("user"));
 
-            verify(categoryService, times(1)).updateCategory(any(CategoryRequest.class), eq("user"), eq(categoryId));
+            verify(categoryService, times(1)).updateCategory(any(CategoryRequest.class), eq(USER), eq(categoryId));
         }
     }
 
@@ -155,9 +170,9 @@ public class CategoryControllerTest {
         final CategoryRequest categoryRequest = new CategoryRequest("Gym", "Gym-related tasks");
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
-            when(categoryService.updateCategory(any(CategoryRequest.class), eq("user"), eq(categoryId)))
+            when(categoryService.updateCategory(any(CategoryRequest.class), eq(USER), eq(categoryId)))
                     .thenThrow(new UnauthorizedException("You are not allowed to update this category!"));
 
             mockMvc.perform(put(CATEGORY_URL + "/" + categoryId)
@@ -165,7 +180,7 @@ public class CategoryControllerTest {
                             .content(new ObjectMapper().writeValueAsString(categoryRequest)))
                     .andExpect(status().isForbidden());
 
-            verify(categoryService, times(1)).updateCategory(any(CategoryRequest.class), eq("user"), eq(categoryId));
+            verify(categoryService, times(1)).updateCategory(any(CategoryRequest.class), eq(USER), eq(categoryId));
         }
     }
 
@@ -187,14 +202,14 @@ public class CategoryControllerTest {
         final Long categoryId = 1L;
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
-            doNothing().when(categoryService).deleteCategory("user", categoryId);
+            doNothing().when(categoryService).deleteCategory(USER, categoryId);
 
             mockMvc.perform(delete(CATEGORY_URL + "/" + categoryId))
                     .andExpect(status().isNoContent());
 
-            verify(categoryService, times(1)).deleteCategory("user", categoryId);
+            verify(categoryService, times(1)).deleteCategory(USER, categoryId);
         }
     }
 
@@ -203,15 +218,15 @@ public class CategoryControllerTest {
         final Long categoryId = 1L;
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
             doThrow(new UnauthorizedException("You cannot delete another user's category"))
-                    .when(categoryService).deleteCategory("user", categoryId);
+                    .when(categoryService).deleteCategory(USER, categoryId);
 
             mockMvc.perform(delete(CATEGORY_URL + "/" + categoryId))
                     .andExpect(status().isForbidden());
 
-            verify(categoryService, times(1)).deleteCategory("user", categoryId);
+            verify(categoryService, times(1)).deleteCategory(USER, categoryId);
         }
     }
 
@@ -220,15 +235,15 @@ public class CategoryControllerTest {
         final Long categoryId = 999L;
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
             doThrow(new ResourceNotFoundException("Category", "999"))
-                    .when(categoryService).deleteCategory("user", categoryId);
+                    .when(categoryService).deleteCategory(USER, categoryId);
 
             mockMvc.perform(delete(CATEGORY_URL + "/" + categoryId))
                     .andExpect(status().isNotFound());
 
-            verify(categoryService, times(1)).deleteCategory("user", categoryId);
+            verify(categoryService, times(1)).deleteCategory(USER, categoryId);
         }
     }
 
@@ -1,10 +1,12 @@
 package ch.cern.todo.controller;
 
 import ch.cern.todo.config.JacksonConfig;
+import ch.cern.todo.security.CallerContext;
 import ch.cern.todo.util.SecurityUtil;
 import ch.cern.todo.dto.*;
 import ch.cern.todo.exceptions.ResourceNotFoundException;
 import ch.cern.todo.exceptions.UnauthorizedException;
+import ch.cern.todo.service.TaskBatchService;
 import ch.cern.todo.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,14 +15,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,11 +40,19 @@ public class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    @Spy
+    private ObjectMapper objectMapper = JacksonConfig.getObjectMapper();
+
     @InjectMocks
     private TaskController taskController;
 
     private static final String TASK_URL = "/api/v1/tasks";
 
+    private static final CallerContext USER = new CallerContext(2L, "user", false);
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
@@ -47,7 +61,7 @@ public class TaskControllerTest {
     @Test
     void testGetAllTasks_FilteredByLoggedInUser() throws Exception {
         try (final var securityUtilMock = mockStatic(SecurityUtil.class)) {
-            securityUtilMock.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            securityUtilMock.when(SecurityUtil::getCaller).thenReturn(USER);
 
             final TaskResponse response = TaskResponse.builder()
                     .id(1L)
@@ -58,7 +72,7 @@ public class TaskControllerTest {
                     .build();
             final List<TaskResponse> mockTasks = List.of(response);
 
-            when(taskService.getAllTasks(any(TaskQueryParams.class))).thenReturn(mockTasks);
+            when(taskService.getAllTasks(any(TaskQueryParams.class), eq(USER))).thenReturn(new CursorPage<>(mockTasks, "next", 5L));
 
             mockMvc.perform(get(TASK_URL)
                             .header("Authorization", "Basic dXNlcjp0ZXN0MTIz")
@@ -67,19 +81,63 @@ public class TaskControllerTest {
                     .andExpect(jsonPath("$.size()").value(1))
                     .andExpect(jsonPath("$[0].name").value("New task"))
                     .andExpect(jsonPath("$[0].description").value("Description"))
-                    .andExpect(jsonPath("$[0].category").value("Work"));
+                    .andExpect(jsonPath("$[0].category").value("Work"))
+                    .andExpect(header().string("X-Next-Cursor", "next"))
+                    .andExpect(header().string("X-Total-Count", "5"));
+
+            verify(taskService, times(1)).getAllTasks(any(), eq(USER));
+        }
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutQuerying_whenETagMatches() throws Exception {
+        try (final var securityUtilMock = mockStatic(SecurityUtil.class)) {
+            securityUtilMock.when(SecurityUtil::getCaller).thenReturn(USER);
+            when(taskService.getListingETag(any(TaskQueryParams.class), eq(USER), eq("category=Work"))).thenReturn("\"v7\"");
+
+            mockMvc.perform(get(TASK_URL + "?category=Work").header("If-None-Match", "\"v7\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"v7\""))
+                    .andExpect(content().string(""));
+
+            verify(taskService, never()).getAllTasks(any(), any());
+        }
+    }
+
+    @Test
+    void shouldStreamTasksAsNdjson_whenRequested() throws Exception {
+        try (final var securityUtilMock = mockStatic(SecurityUtil.class)) {
+            securityUtilMock.when(SecurityUtil::getCaller).thenReturn(USER);
+
+            doAnswer(invocation -> {
+                final Consumer<TaskResponse> consumer = invocation.getArgument(2);
+                consumer.accept(TaskResponse.builder().id(1L).name("First").build());
+                consumer.accept(TaskResponse.builder().id(2L).name("Second").build());
+                return null;
+            }).when(taskService).streamTasks(any(TaskQueryParams.class), eq(USER), any());
+
+            final MvcResult result = mockMvc.perform(get(TASK_URL).accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string(containsString("\"name\":\"First\"")))
+                    .andExpect(content().string(containsString("\"name\":\"Second\"")));
 
-            verify(taskService, times(1)).getAllTasks(any());
+            verify(taskService, times(1)).authorizeListing(any(TaskQueryParams.class), eq(USER));
+            verify(taskService, never()).getAllTasks(any(), any());
         }
     }
 
     @Test
     void testUserCannotAccessOthersTasks() throws Exception {
         try (final var securityUtilMock = mockStatic(SecurityUtil.class)) {
-            securityUtilMock.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            securityUtilMock.when(SecurityUtil::getCaller).thenReturn(USER);
 
             doThrow(new UnauthorizedException("You are not allowed to see task created by other user!"))
-                    .when(taskService).getAllTasks(any(TaskQueryParams.class));
+                    .when(taskService).getAllTasks(any(TaskQueryParams.class), eq(USER));
 
             mockMvc.perform(get(TASK_URL)
                             .header("Authorization", "Basic dXNlcjp0ZXN0MTIz")
@@ -87,7 +145,7 @@ public class TaskControllerTest {
                     .andExpect(status().isForbidden());
 
 
-            verify(taskService, times(1)).getAllTasks(any());
+            verify(taskService, times(1)).getAllTasks(any(), eq(USER));
         }
     }
 
@@ -97,8 +155,8 @@ public class TaskControllerTest {
         final TaskResponse taskResponse = new TaskResponse(1L, "Task", "Description", "user", LocalDate.now().plusDays(1), "Personal");
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
-            when(taskService.createTask(any(TaskCreateRequest.class), eq("user")))
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
+            when(taskService.createTask(any(TaskCreateRequest.class), eq(USER)))
                     .thenReturn(taskResponse);
 
             mockMvc.perform(post(TASK_URL)
@@ -110,7 +168,7 @@ public class TaskControllerTest {
                     .andExpect(jsonPath("$.name").value("Task"))
                     .andExpect(jsonPath("$.description").value("Description"));
 
-            verify(taskService, times(1)).createTask(any(TaskCreateRequest.class), eq("user"));
+            verify(taskService, times(1)).createTask(any(TaskCreateRequest.class), eq(USER));
         }
     }
 
@@ -119,8 +177,8 @@ public class TaskControllerTest {
         final TaskCreateRequest taskRequest = new TaskCreateRequest("Task", "Description", LocalDate.now().plusDays(1), "NotExistingCategory");
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
-            when(taskService.createTask(any(TaskCreateRequest.class), eq("user")))
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
+            when(taskService.createTask(any(TaskCreateRequest.class), eq(USER)))
                     .thenThrow(new ResourceNotFoundException("Category", "NotExistingCategory"));
 
             mockMvc.perform(post(TASK_URL)
@@ -129,7 +187,7 @@ public class TaskControllerTest {
                             .content(JacksonConfig.getObjectMapper().writeValueAsString(taskRequest)))
                     .andExpect(status().isNotFound());
 
-            verify(taskService, times(1)).createTask(any(TaskCreateRequest.class), eq("user"));
+            verify(taskService, times(1)).createTask(any(TaskCreateRequest.class), eq(USER));
         }
     }
 
@@ -155,9 +213,9 @@ public class TaskControllerTest {
         final TaskResponse taskResponse = new TaskResponse(1L, "Updated Task", "This is an updated task", "user", expectedDeadline, "Personal");
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
-            when(taskService.updateTask(any(TaskRequest.class), eq("user"), eq(taskId)))
+            when(taskService.updateTask(any(TaskRequest.class), eq(USER), eq(taskId)))
                     .thenReturn(taskResponse);
 
             mockMvc.perform(put(TASK_URL + "/" + taskId)
@@ -170,7 +228,7 @@ public class TaskControllerTest {
                     .andExpect(jsonPath("$.description").value("This is an updated task"))
                     .andExpect(jsonPath("$.createdBy").value("user"));
 
-            verify(taskService, times(1)).updateTask(any(TaskRequest.class), eq("user"), eq(taskId));
+            verify(taskService, times(1)).updateTask(any(TaskRequest.class), eq(USER), eq(taskId));
         }
     }
 
@@ -181,9 +239,9 @@ public class TaskControllerTest {
         final TaskRequest taskRequest = new TaskRequest("Task", "Description", expectedDeadline, "Personal");
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
-            when(taskService.updateTask(any(TaskRequest.class), eq("user"), eq(taskId)))
+            when(taskService.updateTask(any(TaskRequest.class), eq(USER), eq(taskId)))
                     .thenThrow(new UnauthorizedException("You cannot update another user's task"));
 
             // When & Then
@@ -192,7 +250,7 @@ public class TaskControllerTest {
                             .content(JacksonConfig.getObjectMapper().writeValueAsString(taskRequest)))
                     .andExpect(status().isForbidden());
 
-            verify(taskService, times(1)).updateTask(any(TaskRequest.class), eq("user"), eq(taskId));
+            verify(taskService, times(1)).updateTask(any(TaskRequest.class), eq(USER), eq(taskId));
         }
     }
 
@@ -201,14 +259,14 @@ public class TaskControllerTest {
         final Long categoryId = 1L;
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
-            doNothing().when(taskService).deleteTask("user", categoryId);
+            doNothing().when(taskService).deleteTask(USER, categoryId);
 
             mockMvc.perform(delete(TASK_URL + "/" + categoryId))
                     .andExpect(status().isNoContent());
 
-            verify(taskService, times(1)).deleteTask("user", categoryId);
+            verify(taskService, times(1)).deleteTask(USER, categoryId);
         }
     }
 
@@ -217,15 +275,15 @@ public class TaskControllerTest {
         final Long categoryId = 1L;
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
             doThrow(new UnauthorizedException("You cannot delete another user's category"))
-                    .when(taskService).deleteTask("user", categoryId);
+                    .when(taskService).deleteTask(USER, categoryId);
 
             mockMvc.perform(delete(TASK_URL + "/" + categoryId))
                     .andExpect(status().isForbidden());
 
-            verify(taskService, times(1)).deleteTask("user", categoryId);
+            verify(taskService, times(1)).deleteTask(USER, categoryId);
         }
     }
 
@@ -234,15 +292,15 @@ public class TaskControllerTest {
         final Long categoryId = 999L;
 
         try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn("user");
+            mockedSecurity.when(SecurityUtil::getCaller).thenReturn(USER);
 
             doThrow(new ResourceNotFoundException("Category", "999"))
-                    .when(taskService).deleteTask("user", categoryId);
+                    .when(taskService).deleteTask(USER, categoryId);
 
             mockMvc.perform(delete(TASK_URL + "/" + categoryId))
                     .andExpect(status().isNotFound());
 
-            verify(taskService, times(1)).deleteTask("user", categoryId);
+            verify(taskService, times(1)).deleteTask(USER, categoryId);
         }
     }
 
@@ -0,0 +1,101 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures how long deleting a category takes depending on how many tasks it holds. With the tasks removed by
+ * {@code ON DELETE CASCADE} the application issues the same statements for every size and never loads a task; only
+ * the database's own work grows with the category.
+ * <p>
+ * Excluded from {@code ./gradlew test}, run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryDeleteBenchmarkTest {
+
+    private static final int[] CATEGORY_SIZES = {100, 1_000, 10_000, 100_000};
+    private static final int INSERT_BATCH_SIZE = 5_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void shouldDeleteCategoryWithSameStatements_regardlessOfTaskCount() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        final User user = userRepository.save(User.builder().username("benchmark").password("{noop}secret").role("ROLE_USER").build());
+        final List<Long> statementCounts = new ArrayList<>();
+
+        System.out.printf("%12s %12s %12s%n", "tasks", "delete ms", "statements");
+        for (final int size : CATEGORY_SIZES) {
+            final Category category = categoryRepository.save(Category.builder().name("category-" + size).description("").createdBy(user).build());
+            insertTasks(category.getId(), user.getId(), size);
+            entityManagerFactory.getCache().evictAll();
+            statistics.clear();
+
+            final long start = System.nanoTime();
+            categoryRepository.deleteById(category.getId());
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            System.out.printf("%12d %12d %12d%n", size, elapsedMillis, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityStatistics(Task.class.getName()).getLoadCount());
+            assertEquals(0, taskRepository.count());
+            statementCounts.add(statistics.getPrepareStatementCount());
+        }
+
+        assertEquals(1, statementCounts.stream().distinct().count(), "statements per delete: " + statementCounts);
+    }
+
+    private void insertTasks(final Long categoryId, final Long userId, final int count) {
+        final Date deadline = Date.valueOf(LocalDate.of(2030, 1, 1));
+        for (int from = 0; from < count; from += INSERT_BATCH_SIZE) {
+            final List<Object[]> rows = new ArrayList<>();
+            for (int i = from; i < Math.min(from + INSERT_BATCH_SIZE, count); i++) {
+                rows.add(new Object[]{"task-" + i, deadline, categoryId, userId});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tasks (id, name, description, deadline, category_id, user_id) "
+                    + "VALUES (NEXT VALUE FOR tasks_seq, ?, '', ?, ?, ?)", rows);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.CursorPage;
+import ch.cern.todo.dto.TaskQueryParams;
+import ch.cern.todo.dto.TaskResponse;
+import ch.cern.todo.mapper.TaskConvertor;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.service.CategoryCache;
+import ch.cern.todo.service.ModificationVersions;
+import ch.cern.todo.service.SearchService;
+import ch.cern.todo.service.TaskService;
+import ch.cern.todo.util.KeysetCursor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks with H2's {@code EXPLAIN} that the statements behind the main endpoints are served by the indexes of the
+ * Flyway migrations instead of scanning {@code tasks}. The statements are the ones Hibernate generates for the service
+ * and repository calls, captured with a {@link StatementInspector}, so a change to the criteria queries that loses an
+ * index fails here. Plain {@code EXPLAIN} does not need the parameters bound; {@code EXPLAIN ANALYZE} does.
+ */
+@DataJpaTest
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CapturedStatements capturedStatements;
+
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskService(taskRepository, userRepository, new TaskConvertor(), mock(SearchService.class),
+                new CategoryCache(categoryRepository), new ModificationVersions());
+    }
+
+    @Test
+    void shouldUseOwnerIndex_whenListingTasksOfUser() {
+        final TaskQueryParams params = new TaskQueryParams();
+        params.setCreatedBy("user");
+        params.setAfter(new KeysetCursor("id", null, 10L).encode());
+
+        final String plan = explain(capture(() -> taskService.getAllTasks(params, admin())));
+
+        assertTrue(plan.contains("PUBLIC.UK_USERS_USERNAME"), plan);
+        assertTrue(plan.contains("PUBLIC.IDX_TASKS_USER_"), plan);
+        assertFalse(plan.contains("PUBLIC.TASKS.tableScan"), plan);
+    }
+
+    @Test
+    void shouldUseOwnerDeadlineIndex_whenFilteringByDeadline() {
+        final TaskQueryParams params = new TaskQueryParams();
+        params.setDeadline(LocalDate.of(2030, 1, 1));
+        params.setSort("deadline");
+
+        final String plan = explain(capture(() -> taskService.getAllTasks(params, owner(2L))));
+
+        assertTrue(plan.contains("PUBLIC.IDX_TASKS_USER_DEADLINE"), plan);
+    }
+
+    @Test
+    void shouldUseOwnerDeadlineIndex_whenFilteringByDeadlineRange() {
+        final TaskQueryParams params = new TaskQueryParams();
+        params.setDeadlineFrom(LocalDate.of(2030, 1, 1));
+        params.setDeadlineTo(LocalDate.of(2030, 2, 1));
+        params.setSort("deadline");
+
+        final String plan = explain(capture(() -> taskService.getAllTasks(params, owner(2L))));
+
+        assertTrue(plan.contains("PUBLIC.IDX_TASKS_USER_DEADLINE"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    /**
+     * The due-soon listing must stop after the requested number of index entries instead of reading, and sorting,
+     * every upcoming task of the owner. The first scan count in the plan is the one on {@code tasks}; the joined
+     * tables are looked up once per task read.
+     */
+    @Test
+    void shouldReadOnlyRequestedIndexEntries_whenListingTasksDueSoon() {
+        jdbcTemplate.update("INSERT INTO users (username, password, role) VALUES ('due-soon', '{noop}x', 'ROLE_USER')");
+        final Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'due-soon'", Long.class);
+        jdbcTemplate.update("INSERT INTO task_categories (name, description, user_id) VALUES ('due-soon', '', ?)", userId);
+        final Long categoryId = jdbcTemplate.queryForObject("SELECT id FROM task_categories WHERE name = 'due-soon'", Long.class);
+
+        final List<Object[]> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            tasks.add(new Object[]{"task-" + i, Date.valueOf(LocalDate.of(2030, 1, 1).plusDays(i % 365)), categoryId, userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, name, description, deadline, category_id, user_id) "
+                + "VALUES (NEXT VALUE FOR tasks_seq, ?, '', ?, ?, ?)", tasks);
+
+        final LocalDate deadlineFrom = LocalDate.of(2030, 6, 1);
+        final TaskQueryParams params = new TaskQueryParams();
+        params.setDeadlineFrom(deadlineFrom);
+        params.setLimit(20);
+        final CallerContext caller = new CallerContext(userId, "due-soon", false);
+
+        final String sql = capture(() -> taskService.getDueSoonTasks(params, caller));
+        final String plan = explainAnalyze(sql, userId, Date.valueOf(deadlineFrom), 20);
+
+        assertTrue(plan.contains("PUBLIC.IDX_TASKS_USER_DEADLINE"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+        final Matcher tasksScanCount = Pattern.compile("scanCount: (\\d+)").matcher(plan);
+        assertTrue(tasksScanCount.find(), plan);
+        assertTrue(Integer.parseInt(tasksScanCount.group(1)) <= 25, plan);
+    }
+
+    @Test
+    void shouldNotScanTasks_whenLookingUpExistingNamesForBatchCreate() {
+        final String plan = explain(capture(() -> taskRepository.findKeysByOwnerAndNameIn(2L, List.of("Buy groceries", "Go to the gym"))));
+
+        assertFalse(plan.contains("PUBLIC.TASKS.tableScan"), plan);
+    }
+
+    @Test
+    void shouldUseCategoryIndex_whenFilteringByCategory() {
+        final TaskQueryParams params = new TaskQueryParams();
+        params.setCategory("Work");
+
+        final String plan = explain(capture(() -> taskService.getAllTasks(params, admin())));
+
+        assertTrue(plan.contains("PUBLIC.UK_TASK_CATEGORIES_NAME"), plan);
+        assertTrue(plan.contains("PUBLIC.IDX_TASKS_CATEGORY"), plan);
+        assertFalse(plan.contains("PUBLIC.TASKS.tableScan"), plan);
+    }
+
+    private static CallerContext admin() {
+        return new CallerContext(1L, "admin", true);
+    }
+
+    private static CallerContext owner(final Long userId) {
+        return new CallerContext(userId, "user", false);
+    }
+
+    /**
+     * Runs {@code call} and returns the one query on {@code tasks} Hibernate prepared for it.
+     */
+    private String capture(final Runnable call) {
+        capturedStatements.clear();
+        call.run();
+
+        final List<String> queries = capturedStatements.get().stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from tasks "))
+                .toList();
+        assertEquals(1, queries.size(), queries.toString());
+        return queries.get(0);
+    }
+
+    private String explain(final String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private String explainAnalyze(final String sql, final Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE " + sql, String.class, parameters));
+    }
+
+    static class CapturedStatements implements StatementInspector {
+
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(final String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized List<String> get() {
+            return List.copyOf(statements);
+        }
+
+        synchronized void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        CapturedStatements capturedStatements() {
+            return new CapturedStatements();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(final CapturedStatements capturedStatements) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedStatements);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays the lookups done per request (authentication by username, category by name and id) and counts the
+ * statements that actually reach the database. Runs without a surrounding test transaction so that every call uses a
+ * fresh persistence context, like separate requests do.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final int REQUESTS = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder().username("cached-user").password("{noop}secret").role("ROLE_USER").build());
+        category = categoryRepository.save(Category.builder().name("Cached").description("").createdBy(user).build());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldHitDatabaseOnce_whenUserIsLookedUpByUsernameRepeatedly() {
+        for (int i = 0; i < REQUESTS; i++) {
+            assertTrue(userRepository.findByUsername("cached-user").isPresent());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(REQUESTS - 1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void shouldHitDatabaseOnce_whenCategoryIsLookedUpByNameAndIdRepeatedly() {
+        for (int i = 0; i < REQUESTS; i++) {
+            assertTrue(categoryRepository.findByName("Cached").isPresent());
+            assertTrue(categoryRepository.findById(category.getId()).isPresent());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2L * REQUESTS - 1);
+    }
+
+    @Test
+    void shouldNotServeStaleResult_whenCategoryIsRenamed() {
+        assertTrue(categoryRepository.findByName("Cached").isPresent());
+
+        final Category renamed = categoryRepository.findById(category.getId()).orElseThrow();
+        renamed.setName("Renamed");
+        categoryRepository.save(renamed);
+
+        assertTrue(categoryRepository.findByName("Cached").isEmpty());
+        assertEquals("Renamed", categoryRepository.findByName("Renamed").orElseThrow().getName());
+    }
+}
@@ -0,0 +1,182 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.TaskGroupStats;
+import ch.cern.todo.dto.TaskResponse;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.entity.User;
+import ch.cern.todo.util.FieldSelection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldListTasksWithOneStatement_regardlessOfDistinctOwnersAndCategories() {
+        persistTasks(0, 5);
+        assertEquals(1, countStatements(5));
+
+        persistTasks(5, 55);
+        assertEquals(1, countStatements(55));
+    }
+
+    @Test
+    void shouldResolveOwnerAndCategoryNames_whenFilteringOnThem() {
+        persistTasks(0, 3);
+        entityManager.clear();
+
+        final Specification<Task> ownedByUser1 = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("createdBy").get("username"), "user-1");
+        final List<TaskResponse> tasks = taskRepository.findAllResponses(ownedByUser1, Sort.by("id"), 10);
+
+        assertEquals(1, tasks.size());
+        assertEquals("task-1", tasks.get(0).getName());
+        assertEquals("user-1", tasks.get(0).getCreatedBy());
+        assertEquals("category-1", tasks.get(0).getCategory());
+    }
+
+    @Test
+    void shouldOnlyReadSelectedFields_whenFieldSelectionIsGiven() {
+        persistTasks(0, 2);
+        entityManager.clear();
+
+        final Specification<Task> all = (root, query, criteriaBuilder) -> null;
+        final List<TaskResponse> tasks = taskRepository.findAllResponses(all, Sort.by("id"), 10,
+                new FieldSelection(Set.of("id", "name")));
+
+        assertEquals(2, tasks.size());
+        assertEquals("task-0", tasks.get(0).getName());
+        assertNull(tasks.get(0).getDescription());
+        assertNull(tasks.get(0).getCreatedBy());
+        assertNull(tasks.get(0).getDeadline());
+        assertNull(tasks.get(0).getCategory());
+    }
+
+    @Test
+    void shouldOnlyReassignOwnTasks_withoutLoadingEntities() {
+        persistTasks(0, 3);
+        final Long targetId = entityManager.getEntityManager()
+                .createQuery("select c.id from Category c where c.name = 'category-2'", Long.class)
+                .getSingleResult();
+        final Long ownerId = entityManager.getEntityManager()
+                .createQuery("select u.id from User u where u.username = 'user-1'", Long.class)
+                .getSingleResult();
+        entityManager.clear();
+        statistics.clear();
+
+        final Specification<Task> ownedByUser1 = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("createdBy").get("id"), ownerId);
+        final int updated = taskRepository.updateCategory(ownedByUser1, targetId);
+
+        assertEquals(1, updated);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        final List<TaskResponse> tasks = taskRepository.findAllResponses(Specification.where(null), Sort.by("id"), 10);
+        assertEquals(List.of("category-0", "category-2", "category-2"), tasks.stream().map(TaskResponse::getCategory).toList());
+    }
+
+    @Test
+    void shouldCountDeadlineBucketsPerCategoryInOneStatement() {
+        persistTasks(0, 10);
+        entityManager.clear();
+        statistics.clear();
+
+        final List<TaskGroupStats> stats = taskRepository.countByCategory(Specification.where(null),
+                LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 6));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(10, stats.size());
+        assertEquals("category-0", stats.get(0).getName());
+        assertEquals(List.of(1L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L), stats.stream().map(TaskGroupStats::getOverdue).toList());
+        assertEquals(List.of(0L, 1L, 1L, 1L, 1L, 1L, 0L, 0L, 0L, 0L), stats.stream().map(TaskGroupStats::getDueThisWeek).toList());
+        assertEquals(9, stats.stream().mapToLong(TaskGroupStats::getUpcoming).sum());
+    }
+
+    @Test
+    void shouldDeleteTasksOfCategoryInDatabase_withoutLoadingThem() {
+        persistTasks(0, 3);
+        final Long categoryId = entityManager.getEntityManager()
+                .createQuery("select c.id from Category c where c.name = 'category-1'", Long.class)
+                .getSingleResult();
+        entityManager.clear();
+        statistics.clear();
+
+        categoryRepository.deleteById(categoryId);
+        entityManager.flush();
+
+        assertEquals(0, statistics.getEntityStatistics(Task.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Task.class.getName()).getDeleteCount());
+        assertEquals(2, taskRepository.count());
+    }
+
+    /**
+     * Every task gets its own owner and category, the worst case for per-row association loading.
+     */
+    private void persistTasks(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final User user = entityManager.persist(User.builder()
+                    .username("user-" + i)
+                    .password("{noop}password")
+                    .role("ROLE_USER")
+                    .build());
+            final Category category = entityManager.persist(Category.builder()
+                    .name("category-" + i)
+                    .createdBy(user)
+                    .build());
+            entityManager.persist(Task.builder()
+                    .name("task-" + i)
+                    .description("")
+                    .deadline(LocalDate.of(2030, 1, 1).plusDays(i))
+                    .category(category)
+                    .createdBy(user)
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    private long countStatements(final int expectedTasks) {
+        entityManager.clear();
+        statistics.clear();
+
+        final List<TaskResponse> tasks = taskRepository.findAllResponses(Specification.where(null), Sort.by("id"), 1000);
+
+        assertEquals(expectedTasks, tasks.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,25 @@
+package ch.cern.todo.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BCryptStrengthCalibratorTest {
+
+    @Test
+    void shouldPickLowestStrengthReachingTarget() {
+        final long fiftyMillis = TimeUnit.MILLISECONDS.toNanos(50);
+
+        assertEquals(10, BCryptStrengthCalibrator.strengthFor(TimeUnit.MILLISECONDS.toNanos(40), fiftyMillis));
+        assertEquals(11, BCryptStrengthCalibrator.strengthFor(TimeUnit.MILLISECONDS.toNanos(100), fiftyMillis));
+        assertEquals(12, BCryptStrengthCalibrator.strengthFor(TimeUnit.MILLISECONDS.toNanos(150), fiftyMillis));
+    }
+
+    @Test
+    void shouldStayWithinBounds() {
+        assertEquals(BCryptStrengthCalibrator.MAX_STRENGTH, BCryptStrengthCalibrator.strengthFor(TimeUnit.HOURS.toNanos(1), 1));
+        assertEquals(BCryptStrengthCalibrator.MIN_STRENGTH, BCryptStrengthCalibrator.strengthFor(0, 1));
+    }
+}
@@ -0,0 +1,77 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.entity.User;
+import ch.cern.todo.service.PasswordHashingService;
+import ch.cern.todo.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new CredentialCache(10, Duration.ofMinutes(5));
+        provider = new CachingAuthenticationProvider(userService, passwordEncoder, passwordHashingService, credentialCache);
+    }
+
+    @Test
+    void shouldAuthenticateFromCache_whenCredentialsAreCached() {
+        final User user = User.builder().id(1L).username("user").role("ROLE_USER").build();
+        credentialCache.put("user", "test123", user);
+
+        final Authentication result = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "test123"));
+
+        assertSame(user, result.getPrincipal());
+        assertTrue(result.isAuthenticated());
+        verifyNoInteractions(userService, passwordHashingService);
+    }
+
+    @Test
+    void shouldRejectAndEvict_whenCachedAccountIsLocked() {
+        final User user = spy(User.builder().id(1L).username("user").role("ROLE_USER").build());
+        credentialCache.put("user", "test123", user);
+        doReturn(false).when(user).isAccountNonLocked();
+
+        assertThrows(LockedException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "test123")));
+        assertEquals(0, credentialCache.size());
+        verifyNoInteractions(userService, passwordHashingService);
+    }
+
+    @Test
+    void shouldRejectAndEvict_whenCachedAccountIsDisabled() {
+        final User user = spy(User.builder().id(1L).username("user").role("ROLE_USER").build());
+        credentialCache.put("user", "test123", user);
+        doReturn(false).when(user).isEnabled();
+
+        assertThrows(DisabledException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "test123")));
+        assertEquals(0, credentialCache.size());
+    }
+}
@@ -0,0 +1,35 @@
+package ch.cern.todo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CostMatchingBCryptPasswordEncoderTest {
+
+    private static final String PASSWORD = "secret";
+
+    private final CostMatchingBCryptPasswordEncoder encoder = new CostMatchingBCryptPasswordEncoder(5);
+
+    @Test
+    void shouldUpgrade_whenStoredCostIsLower() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode(PASSWORD)));
+    }
+
+    @Test
+    void shouldUpgrade_whenStoredCostIsHigher() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode(PASSWORD)));
+    }
+
+    @Test
+    void shouldNotUpgrade_whenStoredCostMatches() {
+        assertFalse(encoder.upgradeEncoding(encoder.encode(PASSWORD)));
+    }
+
+    @Test
+    void shouldNotUpgrade_whenHashIsMissing() {
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding(""));
+    }
+}
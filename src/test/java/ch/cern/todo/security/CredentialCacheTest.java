@@ -0,0 +1,66 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialCacheTest {
+
+    @Test
+    void shouldReturnCachedUser_whenCredentialsMatch() {
+        final CredentialCache cache = new CredentialCache(10, Duration.ofMinutes(5));
+        final User user = User.builder().id(1L).username("user").role("ROLE_USER").build();
+
+        cache.put("user", "test123", user);
+
+        assertSame(user, cache.get("user", "test123").orElseThrow());
+        assertTrue(cache.get("user", "wrong").isEmpty());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void shouldEvictEntries_whenExpired() {
+        final CredentialCache cache = new CredentialCache(10, Duration.ZERO);
+        final User user = User.builder().id(1L).username("user").build();
+
+        cache.put("user", "test123", user);
+
+        assertTrue(cache.get("user", "test123").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry_whenFull() {
+        final CredentialCache cache = new CredentialCache(2, Duration.ofMinutes(5));
+
+        cache.put("a", "pw", User.builder().id(1L).username("a").build());
+        cache.put("b", "pw", User.builder().id(2L).username("b").build());
+        cache.get("a", "pw");
+        cache.put("c", "pw", User.builder().id(3L).username("c").build());
+
+        assertTrue(cache.get("a", "pw").isPresent());
+        assertTrue(cache.get("b", "pw").isEmpty());
+        assertTrue(cache.get("c", "pw").isPresent());
+    }
+
+    @Test
+    void shouldDropAllEntriesOfUser_whenInvalidated() {
+        final CredentialCache cache = new CredentialCache(10, Duration.ofMinutes(5));
+        final User user = User.builder().id(1L).username("user").build();
+        final User other = User.builder().id(2L).username("other").build();
+
+        cache.put("user", "old", user);
+        cache.put("user", "new", user);
+        cache.put("other", "pw", other);
+
+        cache.invalidate(1L);
+
+        assertTrue(cache.get("user", "old").isEmpty());
+        assertTrue(cache.get("user", "new").isEmpty());
+        assertTrue(cache.get("other", "pw").isPresent());
+    }
+}
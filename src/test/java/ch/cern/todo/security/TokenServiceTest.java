@@ -0,0 +1,67 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.dto.TokenResponse;
+import ch.cern.todo.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String OLD_KEY = "k1:" + "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    private static final String NEW_KEY = "k2:" + "ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+
+    private final Clock clock = Clock.fixed(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC);
+    private final User user = User.builder().id(7L).username("user").role("ROLE_USER").build();
+
+    @Test
+    void shouldRestorePrincipal_whenTokenIsValid() {
+        final TokenService tokenService = new TokenService(List.of(NEW_KEY), Duration.ofMinutes(15), clock);
+
+        final TokenResponse token = tokenService.issueToken(user);
+        final User principal = tokenService.verifyToken(token.getToken()).orElseThrow();
+
+        assertEquals(7L, principal.getId());
+        assertEquals("user", principal.getUsername());
+        assertEquals("ROLE_USER", principal.getRole());
+        assertEquals(Instant.parse("2030-01-01T10:15:00Z"), token.getExpiresAt());
+    }
+
+    @Test
+    void shouldRejectToken_whenExpired() {
+        final TokenService issuer = new TokenService(List.of(NEW_KEY), Duration.ofMinutes(15), clock);
+        final TokenService verifier = new TokenService(List.of(NEW_KEY), Duration.ofMinutes(15),
+                Clock.offset(clock, Duration.ofMinutes(16)));
+
+        assertTrue(verifier.verifyToken(issuer.issueToken(user).getToken()).isEmpty());
+    }
+
+    @Test
+    void shouldRejectToken_whenTampered() {
+        final TokenService tokenService = new TokenService(List.of(NEW_KEY), Duration.ofMinutes(15), clock);
+        final String token = tokenService.issueToken(user).getToken();
+        final String forgedToken = tokenService.issueToken(User.builder().id(1L).username("admin").role("ROLE_ADMIN").build())
+                .getToken().split("\\.")[0] + "." + token.split("\\.")[1];
+
+        assertTrue(tokenService.verifyToken(forgedToken).isEmpty());
+        assertTrue(tokenService.verifyToken("garbage").isEmpty());
+    }
+
+    @Test
+    void shouldAcceptTokensOfRotatedKey_whenStillConfigured() {
+        final TokenService oldIssuer = new TokenService(List.of(OLD_KEY), Duration.ofMinutes(15), clock);
+        final TokenService rotated = new TokenService(List.of(NEW_KEY, OLD_KEY), Duration.ofMinutes(15), clock);
+        final TokenService retired = new TokenService(List.of(NEW_KEY), Duration.ofMinutes(15), clock);
+
+        final String token = oldIssuer.issueToken(user).getToken();
+
+        assertTrue(rotated.verifyToken(token).isPresent());
+        assertTrue(retired.verifyToken(token).isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CategoryCache categoryCache;
+
+    @Test
+    void shouldQueryDatabaseOnce_whenNameIsLookedUpRepeatedly() {
+        when(categoryRepository.findByName("Work")).thenReturn(Optional.of(Category.builder().id(1L).name("Work").build()));
+
+        assertEquals(1L, categoryCache.findByName("Work").orElseThrow().getId());
+        assertEquals(1L, categoryCache.findByName("Work").orElseThrow().getId());
+
+        verify(categoryRepository, times(1)).findByName("Work");
+        assertEquals(1, categoryCache.hitCount());
+        assertEquals(1, categoryCache.missCount());
+        assertEquals(0.5, categoryCache.hitRatio());
+    }
+
+    @Test
+    void shouldNotServeOldName_whenCategoryIsRenamed() {
+        categoryCache.onCreated(Category.builder().id(1L).name("Work").build());
+
+        categoryCache.onRenamed("Work", Category.builder().id(1L).name("Job").build());
+
+        assertEquals(1L, categoryCache.findByName("Job").orElseThrow().getId());
+        assertTrue(categoryCache.findByName("Work").isEmpty());
+        verify(categoryRepository, times(1)).findByName("Work");
+    }
+
+    @Test
+    void shouldForgetCategory_whenDeleted() {
+        categoryCache.onCreated(Category.builder().id(1L).name("Work").build());
+
+        categoryCache.onDeleted("Work");
+
+        assertEquals(0, categoryCache.size());
+        assertTrue(categoryCache.findByName("Work").isEmpty());
+    }
+
+    @Test
+    void shouldLoadOnlyMissingNames_whenResolvingSeveral() {
+        categoryCache.onCreated(Category.builder().id(1L).name("Work").build());
+        when(categoryRepository.findByNameIn(Set.of("Gym", "Unknown"))).thenReturn(List.of(Category.builder().id(2L).name("Gym").build()));
+
+        final Map<String, Category> categories = categoryCache.findAllByName(List.of("Work", "Gym", "Unknown"));
+
+        assertEquals(Set.of("Work", "Gym"), categories.keySet());
+        assertEquals(2, categoryCache.size());
+    }
+}
@@ -1,28 +1,33 @@
 package ch.cern.todo.service;
 
 import ch.cern.todo.dto.CategoryCreateRequest;
-import ch.cern.todo.util.SecurityUtil;
+import ch.cern.todo.dto.CursorPage;
 import ch.cern.todo.dto.CategoryRequest;
 import ch.cern.todo.dto.CategoryResponse;
 import ch.cern.todo.dto.CategoryQueryParams;
+import ch.cern.todo.dto.CategorySearchDocument;
 import ch.cern.todo.entity.Category;
 import ch.cern.todo.entity.User;
+import ch.cern.todo.exceptions.InvalidRequestException;
 import ch.cern.todo.exceptions.UnauthorizedException;
 import ch.cern.todo.exceptions.UserNotFoundException;
 import ch.cern.todo.mapper.TaskCategoryConvertor;
 import ch.cern.todo.repository.CategoryRepository;
 import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.util.FieldSelection;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,34 +45,63 @@ class CategoryServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private ModificationVersions modificationVersions;
+
     @InjectMocks
     private CategoryService categoryService;
 
     @Test
     void shouldReturnAllCategoriesSuccessfully() {
         final CategoryQueryParams requestParams = new CategoryQueryParams();
-        final Category category = Category.builder().id(1L).name("Work").createdBy(User.builder().id(1L).build()).build();
         final CategoryResponse categoryResponse = CategoryResponse.builder().id(1L).name("Work").description("Work-related tasks").createdBy("user").build();
 
-        when(categoryRepository.findAll(any(Specification.class))).thenReturn(List.of(category));
-        when(convertorCategory.convertToCategoryResponse(category)).thenReturn(categoryResponse);
+        when(categoryRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(List.of(categoryResponse));
+
+        final CursorPage<CategoryResponse> result = categoryService.getAllCategories(requestParams);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("Work", result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+        verify(categoryRepository, times(1)).findAllResponses(any(Specification.class), eq(Sort.by("id")), eq(101), eq(FieldSelection.ALL));
+    }
+
+    @Test
+    void shouldSelectRequestedFieldsAndId_whenFieldsAreGiven() {
+        final CategoryQueryParams requestParams = new CategoryQueryParams();
+        requestParams.setFields("name");
+
+        when(categoryRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(Collections.emptyList());
 
-        final List<CategoryResponse> result = categoryService.getAllCategories(requestParams);
+        categoryService.getAllCategories(requestParams);
 
-        assertEquals(1, result.size());
-        assertEquals("Work", result.get(0).getName());
-        verify(categoryRepository, times(1)).findAll(any(Specification.class));
+        verify(categoryRepository).findAllResponses(any(Specification.class), any(Sort.class), anyInt(), eq(new FieldSelection(Set.of("id", "name"))));
+    }
+
+    @Test
+    void shouldThrowInvalidRequestException_whenFieldIsUnknown() {
+        final CategoryQueryParams requestParams = new CategoryQueryParams();
+        requestParams.setFields("name,secret");
+
+        assertThrows(InvalidRequestException.class, () -> categoryService.getAllCategories(requestParams));
+        verify(categoryRepository, never()).findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class));
     }
 
     @Test
     void shouldReturnEmptyList_whenNoCategoriesExist() {
         final CategoryQueryParams requestParams = new CategoryQueryParams();
-        when(categoryRepository.findAll(any(Specification.class))).thenReturn(Collections.emptyList());
+        when(categoryRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(Collections.emptyList());
 
-        final List<CategoryResponse> result = categoryService.getAllCategories(requestParams);
+        final CursorPage<CategoryResponse> result = categoryService.getAllCategories(requestParams);
 
-        assertTrue(result.isEmpty());
-        verify(categoryRepository, times(1)).findAll(any(Specification.class));
+        assertTrue(result.getItems().isEmpty());
+        verify(categoryRepository, times(1)).findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class));
     }
 
     @Test
@@ -77,18 +111,19 @@ class CategoryServiceTest {
         final User user = User.builder().id(1L).username(username).build();
         final Category category = Category.builder().id(1L).name("Work").createdBy(user).build();
         final CategoryResponse expectedResponse = CategoryResponse.builder().id(1L).name("Work").description("Work-related tasks").createdBy("user").build();
+        final CategorySearchDocument searchDocument = new CategorySearchDocument(1L, "Work", "Work-related tasks", username);
 
-
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(convertorCategory.convertToCategoryEntity(categoryRequest, user)).thenReturn(category);
+        when(convertorCategory.convertToCategoryEntity(eq(categoryRequest), any(User.class))).thenReturn(category);
         when(categoryRepository.save(category)).thenReturn(category);
         when(convertorCategory.convertToCategoryResponse(category)).thenReturn(expectedResponse);
+        when(convertorCategory.convertToSearchDocument(category)).thenReturn(searchDocument);
 
-        final CategoryResponse result = categoryService.createCategory(categoryRequest, username);
+        final CategoryResponse result = categoryService.createCategory(categoryRequest, new CallerContext(1L, username, false));
 
         assertEquals("Work", result.getName());
-        verify(userRepository, times(1)).findByUsername(username);
+        verifyNoInteractions(userRepository);
         verify(categoryRepository, times(1)).save(category);
+        verify(searchService, times(1)).indexCategory(searchDocument);
     }
 
     @Test
@@ -98,7 +133,7 @@ class CategoryServiceTest {
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
-        assertThrows(UserNotFoundException.class, () -> categoryService.createCategory(categoryRequest, username));
+        assertThrows(UserNotFoundException.class, () -> categoryService.createCategory(categoryRequest, new CallerContext(null, username, false)));
 
         verify(userRepository, times(1)).findByUsername(username);
         verifyNoInteractions(categoryRepository);
@@ -118,15 +153,12 @@ class CategoryServiceTest {
         when(categoryRepository.save(category)).thenReturn(category);
         when(convertorCategory.convertToCategoryResponse(category)).thenReturn(expectedResponse);
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            final CategoryResponse result = categoryService.updateCategory(categoryRequest, username, categoryId);
+        final CategoryResponse result = categoryService.updateCategory(categoryRequest, new CallerContext(1L, username, false), categoryId);
 
-            assertEquals("Updated Work", result.getName());
-            verify(categoryRepository, times(1)).findById(categoryId);
-            verify(categoryRepository, times(1)).save(category);
-        }
+        assertEquals("Updated Work", result.getName());
+        verify(categoryRepository, times(1)).findById(categoryId);
+        verify(categoryRepository, times(1)).save(category);
+        verify(categoryCache, times(1)).onRenamed("Work", category);
     }
 
     @Test
@@ -140,14 +172,10 @@ class CategoryServiceTest {
 
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
+        assertThrows(UnauthorizedException.class, () -> categoryService.updateCategory(categoryRequest, new CallerContext(1L, username, false), categoryId));
 
-            assertThrows(UnauthorizedException.class, () -> categoryService.updateCategory(categoryRequest, username, categoryId));
-
-            verify(categoryRepository, times(1)).findById(categoryId);
-            verify(categoryRepository, never()).save(any());
-        }
+        verify(categoryRepository, times(1)).findById(categoryId);
+        verify(categoryRepository, never()).save(any());
     }
 
     @Test
@@ -159,16 +187,14 @@ class CategoryServiceTest {
 
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            // When
-            categoryService.deleteCategory(username, categoryId);
+        // When
+        categoryService.deleteCategory(new CallerContext(1L, username, false), categoryId);
 
-            // Then
-            verify(categoryRepository, times(1)).findById(categoryId);
-            verify(categoryRepository, times(1)).delete(category);
-        }
+        // Then
+        verify(categoryRepository, times(1)).findById(categoryId);
+        verify(categoryRepository, times(1)).delete(category);
+        verify(categoryCache, times(1)).onDeleted("Work");
+        verify(searchService, times(1)).removeCategory(categoryId);
     }
 
     @Test
@@ -181,13 +207,9 @@ class CategoryServiceTest {
 
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            assertThrows(UnauthorizedException.class, () -> categoryService.deleteCategory(username, categoryId));
+        assertThrows(UnauthorizedException.class, () -> categoryService.deleteCategory(new CallerContext(1L, username, false), categoryId));
 
-            verify(categoryRepository, times(1)).findById(categoryId);
-            verify(categoryRepository, never()).delete(any(Category.class));
-        }
+        verify(categoryRepository, times(1)).findById(categoryId);
+        verify(categoryRepository, never()).delete(any(Category.class));
     }
 }
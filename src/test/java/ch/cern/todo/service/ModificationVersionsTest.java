@@ -0,0 +1,65 @@
+package ch.cern.todo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ModificationVersionsTest {
+
+    private final ModificationVersions versions = new ModificationVersions();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldOnlyChangeOwnersETag_whenOwnersTasksChange() {
+        final String alice = versions.taskListingETag("alice", null);
+        final String bob = versions.taskListingETag("bob", null);
+        final String all = versions.taskListingETag(null, null);
+
+        versions.tasksChanged("alice");
+
+        assertNotEquals(alice, versions.taskListingETag("alice", null));
+        assertEquals(bob, versions.taskListingETag("bob", null));
+        assertNotEquals(all, versions.taskListingETag(null, null));
+    }
+
+    @Test
+    void shouldChangeEveryTaskETag_whenAllTasksOrCategoriesChange() {
+        final String bob = versions.taskListingETag("bob", null);
+        versions.allTasksChanged();
+        final String bobAfterBulk = versions.taskListingETag("bob", null);
+        final String categories = versions.categoryListingETag(null);
+        versions.categoriesChanged();
+
+        assertNotEquals(bob, bobAfterBulk);
+        assertNotEquals(bobAfterBulk, versions.taskListingETag("bob", null));
+        assertNotEquals(categories, versions.categoryListingETag(null));
+    }
+
+    @Test
+    void shouldDependOnQuery_whenVersionsAreEqual() {
+        assertNotEquals(versions.categoryListingETag("limit=10"), versions.categoryListingETag("limit=20"));
+        assertEquals(versions.categoryListingETag("limit=10"), versions.categoryListingETag("limit=10"));
+    }
+
+    @Test
+    void shouldKeepETag_untilTransactionCommits() {
+        final String before = versions.taskListingETag("alice", null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.tasksChanged("alice");
+        assertEquals(before, versions.taskListingETag("alice", null));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(before, versions.taskListingETag("alice", null));
+    }
+}
@@ -0,0 +1,61 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void shouldEncodeOnHashingPool() {
+        final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> Thread.currentThread().getName());
+
+        final PasswordHashingService service = new PasswordHashingService(passwordEncoder, 1, 1, Duration.ofSeconds(5));
+
+        assertTrue(service.encode("secret").startsWith("password-hashing-"));
+        service.shutdown();
+    }
+
+    @Test
+    void shouldMatchOnHashingPool() {
+        final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> Thread.currentThread().getName().startsWith("password-hashing-"));
+
+        final PasswordHashingService service = new PasswordHashingService(passwordEncoder, 1, 1, Duration.ofSeconds(5));
+
+        assertTrue(service.matches("secret", "hash"));
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+        service.shutdown();
+    }
+
+    @Test
+    void shouldRejectWithServiceUnavailable_whenPoolAndQueueAreFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            release.await();
+            return "hash";
+        });
+
+        final PasswordHashingService service = new PasswordHashingService(passwordEncoder, 1, 1, Duration.ofSeconds(5));
+
+        final CompletableFuture<String> running = service.encodeAsync("first");
+        final CompletableFuture<String> queued = service.encodeAsync("second");
+
+        assertThrows(ServiceUnavailableException.class, () -> service.encode("third"));
+
+        release.countDown();
+        assertEquals("hash", running.get());
+        assertEquals("hash", queued.get());
+        service.shutdown();
+    }
+}
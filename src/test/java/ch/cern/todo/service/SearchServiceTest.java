@@ -0,0 +1,170 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.dto.CategorySearchDocument;
+import ch.cern.todo.dto.SearchQueryParams;
+import ch.cern.todo.dto.SearchResult;
+import ch.cern.todo.dto.TaskSearchDocument;
+import ch.cern.todo.exceptions.InvalidRequestException;
+import ch.cern.todo.repository.CategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.security.CallerContext;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+
+    private static final CallerContext USER = new CallerContext(2L, "user", false);
+    private static final CallerContext ADMIN = new CallerContext(1L, "admin", true);
+
+    @TempDir
+    Path indexDir;
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchService = new SearchService(taskRepository, categoryRepository, indexDir, true);
+
+        searchService.indexCategory(new CategorySearchDocument(1L, "Personal", "Personal tasks", "user"));
+        searchService.indexCategory(new CategorySearchDocument(2L, "Work", "Work related tasks", "admin"));
+        searchService.indexTask(new TaskSearchDocument(1L, "Buy groceries", "Milk, eggs, bread", "user", 1L));
+        searchService.indexTask(new TaskSearchDocument(2L, "Complete report", "Finish project report", "admin", 2L));
+        searchService.indexTask(new TaskSearchDocument(3L, "Read report draft", "Groceries list is on the fridge", "user", 1L));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    @Test
+    void shouldMatchPrefixesAndTypos_rankingNameMatchesFirst() {
+        final List<SearchResult> byPrefix = search("groc", null, USER);
+        final List<SearchResult> byTypo = search("grocereis", null, USER);
+
+        assertEquals(List.of(1L, 3L), byPrefix.stream().map(SearchResult::getId).toList());
+        assertEquals(List.of(1L, 3L), byTypo.stream().map(SearchResult::getId).toList());
+        assertTrue(byPrefix.get(0).getScore() > byPrefix.get(1).getScore());
+    }
+
+    @Test
+    void shouldOnlyReturnOwnTasks_whenCallerIsNotAdmin() {
+        assertEquals(List.of(3L), search("report", "task", USER).stream().map(SearchResult::getId).toList());
+        assertEquals(2, search("report", "task", ADMIN).size());
+        assertEquals(List.of("category"), search("work", null, USER).stream().map(SearchResult::getType).toList());
+    }
+
+    @Test
+    void shouldRequireEveryWord() {
+        assertEquals(List.of(3L), search("report fridge", null, ADMIN).stream().map(SearchResult::getId).toList());
+    }
+
+    @Test
+    void shouldRemoveTasksOfCategory_whenCategoryIsRemoved() {
+        searchService.removeCategory(1L);
+
+        assertTrue(search("groceries", null, ADMIN).isEmpty());
+        assertEquals(1, search("report", null, ADMIN).size());
+    }
+
+    @Test
+    void shouldReplaceIndexContent_whenRebuilt() {
+        when(categoryRepository.streamSearchDocuments()).thenReturn(Stream.of(new CategorySearchDocument(3L, "Gym", "Gym tasks", "user")));
+        when(taskRepository.streamSearchDocuments()).thenReturn(Stream.of(new TaskSearchDocument(4L, "Go to the gym", "", "user", 3L)));
+
+        searchService.rebuild();
+
+        assertTrue(search("groceries", null, ADMIN).isEmpty());
+        assertEquals(2, search("gym", null, USER).size());
+    }
+
+    @Test
+    void shouldReplaceGivenTasks_whenReindexing() {
+        when(taskRepository.streamSearchDocuments(any(Specification.class), anyInt()))
+                .thenReturn(Stream.of(new TaskSearchDocument(1L, "Buy groceries", "Milk, eggs, bread", "user", 2L)));
+
+        searchService.reindexTasks(List.of(1L, 3L));
+
+        assertEquals(List.of(1L), search("groceries", null, ADMIN).stream().map(SearchResult::getId).toList());
+        assertEquals(List.of(2L), search("report", "task", ADMIN).stream().map(SearchResult::getId).toList());
+        searchService.removeCategory(2L);
+        assertTrue(search("groceries", null, ADMIN).isEmpty());
+    }
+
+    @Test
+    void shouldKeepIndex_whenClosedCleanlyAndRebuildIsDisabled() throws IOException {
+        searchService.close();
+        searchService = new SearchService(taskRepository, categoryRepository, indexDir, false);
+
+        searchService.rebuildOnStartup();
+
+        assertEquals(2, search("groceries", null, ADMIN).size());
+        verifyNoInteractions(taskRepository, categoryRepository);
+    }
+
+    @Test
+    void shouldRebuildIndexOnce_whenClearedAndRebuildIsDisabled() throws IOException {
+        searchService.close();
+        when(categoryRepository.streamSearchDocuments()).thenReturn(Stream.empty());
+        when(taskRepository.streamSearchDocuments()).thenReturn(Stream.empty());
+        searchService = new SearchService(taskRepository, categoryRepository, indexDir, false);
+
+        searchService.clear();
+        searchService.rebuildOnStartup();
+
+        assertTrue(search("groceries", null, ADMIN).isEmpty());
+        verify(taskRepository, times(1)).streamSearchDocuments();
+    }
+
+    @Test
+    void shouldRebuildIndex_whenNotClosedCleanly() throws IOException {
+        searchService.close();
+        try (final IndexWriter writer = new IndexWriter(FSDirectory.open(indexDir), new IndexWriterConfig())) {
+            writer.setLiveCommitData(List.of());
+        }
+        when(categoryRepository.streamSearchDocuments()).thenReturn(Stream.empty());
+        when(taskRepository.streamSearchDocuments()).thenReturn(Stream.of(new TaskSearchDocument(4L, "Go to the gym", "", "user", 3L)));
+        searchService = new SearchService(taskRepository, categoryRepository, indexDir, false);
+
+        searchService.rebuildOnStartup();
+
+        assertTrue(search("groceries", null, ADMIN).isEmpty());
+        assertEquals(1, search("gym", null, USER).size());
+    }
+
+    @Test
+    void shouldRejectQuery_whenInvalid() {
+        assertThrows(InvalidRequestException.class, () -> search(" ", null, USER));
+        assertThrows(InvalidRequestException.class, () -> search("report", "user", USER));
+    }
+
+    private List<SearchResult> search(final String text, final String type, final CallerContext caller) {
+        final SearchQueryParams params = new SearchQueryParams();
+        params.setQ(text);
+        params.setType(type);
+        return searchService.search(params, caller);
+    }
+}
@@ -0,0 +1,145 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.dto.TaskBatchItemResult;
+import ch.cern.todo.dto.TaskBatchResponse;
+import ch.cern.todo.dto.TaskCreateRequest;
+import ch.cern.todo.dto.TaskKey;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.Task;
+import ch.cern.todo.exceptions.InvalidRequestException;
+import ch.cern.todo.mapper.TaskConvertor;
+import ch.cern.todo.repository.CategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import jakarta.validation.Validation;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskBatchServiceTest {
+
+    private static final CallerContext USER = new CallerContext(2L, "user", false);
+    private static final LocalDate DEADLINE = LocalDate.now().plusDays(1);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final SearchService searchService = mock(SearchService.class);
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private final Category personal = Category.builder().id(1L).name("Personal").build();
+
+    @BeforeEach
+    void setUp() {
+        when(categoryRepository.findByNameIn(anyCollection())).thenReturn(List.of(personal));
+        when(taskRepository.findKeysByOwnerAndNameIn(eq(2L), anyCollection())).thenReturn(List.of(new TaskKey("Existing", 1L)));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            final List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(ids.getAndIncrement()));
+            return tasks;
+        });
+    }
+
+    @Test
+    void shouldReportEveryItem_resolvingCategoriesAndDuplicatesOnce() {
+        final TaskBatchService service = createService(0);
+        final List<TaskCreateRequest> requests = List.of(
+                new TaskCreateRequest("Buy groceries", "", DEADLINE, "Personal"),
+                new TaskCreateRequest("", "", DEADLINE, "Personal"),
+                new TaskCreateRequest("Lift", "", DEADLINE, "Gym"),
+                new TaskCreateRequest("Existing", "", DEADLINE, "Personal"),
+                new TaskCreateRequest("Buy groceries", "", DEADLINE, "Personal"),
+                new TaskCreateRequest("Call bank", "", DEADLINE, "Personal"));
+
+        final TaskBatchResponse response = service.createTasks(requests, USER);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(4, response.getFailed());
+        assertEquals(List.of(TaskBatchItemResult.Status.CREATED, TaskBatchItemResult.Status.INVALID,
+                        TaskBatchItemResult.Status.CATEGORY_NOT_FOUND, TaskBatchItemResult.Status.DUPLICATE,
+                        TaskBatchItemResult.Status.DUPLICATE, TaskBatchItemResult.Status.CREATED),
+                response.getResults().stream().map(TaskBatchItemResult::getStatus).toList());
+        assertEquals(100L, response.getResults().get(0).getId());
+        assertEquals(101L, response.getResults().get(5).getId());
+
+        verify(categoryRepository, times(1)).findByNameIn(anyCollection());
+        verify(taskRepository, times(1)).findKeysByOwnerAndNameIn(eq(2L), anyCollection());
+        verify(taskRepository, times(1)).saveAll(argThat((Collection<Task> tasks) -> tasks.size() == 2));
+        verify(searchService, times(1)).indexTasks(anyList());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldOnlyFailItsChunk_whenInsertIsRolledBack() {
+        final TaskBatchService service = createService(2);
+        final List<TaskCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(new TaskCreateRequest("Task " + i, "", DEADLINE, "Personal"));
+        }
+        doNothing().doThrow(new DataIntegrityViolationException("duplicate key")).doNothing().when(taskRepository).flush();
+
+        final TaskBatchResponse response = service.createTasks(requests, USER);
+
+        assertEquals(List.of(TaskBatchItemResult.Status.CREATED, TaskBatchItemResult.Status.CREATED,
+                        TaskBatchItemResult.Status.FAILED, TaskBatchItemResult.Status.FAILED,
+                        TaskBatchItemResult.Status.CREATED),
+                response.getResults().stream().map(TaskBatchItemResult::getStatus).toList());
+        assertEquals("Rolled back because of a database error", response.getResults().get(2).getMessage());
+        verify(taskRepository, times(3)).saveAll(anyList());
+        verify(searchService, times(2)).indexTasks(anyList());
+    }
+
+    @Test
+    void shouldRetryChunk_whenTaskWithSameNameIsCreatedConcurrently() {
+        final TaskBatchService service = createService(0);
+        final List<TaskCreateRequest> requests = List.of(
+                new TaskCreateRequest("Task 0", "", DEADLINE, "Personal"),
+                new TaskCreateRequest("Task 1", "", DEADLINE, "Personal"));
+        when(taskRepository.findKeysByOwnerAndNameIn(eq(2L), anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new TaskKey("Task 1", 1L)));
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"), "PUBLIC.UK_TASKS_NAME_CATEGORY_USER_INDEX_4")))
+                .doNothing().when(taskRepository).flush();
+
+        final TaskBatchResponse response = service.createTasks(requests, USER);
+
+        assertEquals(List.of(TaskBatchItemResult.Status.CREATED, TaskBatchItemResult.Status.DUPLICATE),
+                response.getResults().stream().map(TaskBatchItemResult::getStatus).toList());
+        verify(taskRepository, times(2)).saveAll(anyList());
+        verify(searchService, times(1)).indexTasks(argThat(documents -> documents.size() == 1));
+    }
+
+    @Test
+    void shouldRejectBatch_whenEmptyOrTooLarge() {
+        final TaskBatchService service = createService(0);
+        final List<TaskCreateRequest> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add(new TaskCreateRequest("Task " + i, "", DEADLINE, "Personal"));
+        }
+
+        assertThrows(InvalidRequestException.class, () -> service.createTasks(List.of(), USER));
+        assertThrows(InvalidRequestException.class, () -> service.createTasks(tooMany, USER));
+        verifyNoInteractions(taskRepository);
+    }
+
+    private TaskBatchService createService(final int chunkSize) {
+        return new TaskBatchService(taskRepository, userRepository, new CategoryCache(categoryRepository), new TaskConvertor(), searchService,
+                new ModificationVersions(), Validation.buildDefaultValidatorFactory().getValidator(), mock(PlatformTransactionManager.class),
+                10, chunkSize);
+    }
+}
@@ -0,0 +1,108 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.dto.TaskCreateRequest;
+import ch.cern.todo.entity.Category;
+import ch.cern.todo.entity.User;
+import ch.cern.todo.exceptions.DuplicateResourceFoundException;
+import ch.cern.todo.mapper.TaskConvertor;
+import ch.cern.todo.repository.CategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Fires identical task creates in parallel against the real schema: the unique constraint has to let exactly one of
+ * them through and every other one has to surface as a {@link DuplicateResourceFoundException}. Runs without a test
+ * transaction so that each create commits on its own connection.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private TaskService taskService;
+    private CallerContext caller;
+
+    @BeforeEach
+    void setUp() {
+        final User user = userRepository.save(User.builder().username("racer").password("{noop}secret").role("ROLE_USER").build());
+        categoryRepository.save(Category.builder().name("Race").description("").createdBy(user).build());
+
+        taskService = new TaskService(taskRepository, userRepository, new TaskConvertor(), mock(SearchService.class),
+                new CategoryCache(categoryRepository), new ModificationVersions());
+        caller = CallerContext.of(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCreateExactlyOneTask_whenIdenticalCreatesRunConcurrently() throws Exception {
+        final TaskCreateRequest request = new TaskCreateRequest("Same task", "", LocalDate.now().plusDays(1), "Race");
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return taskService.createTask(request, caller);
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (final Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (final ExecutionException e) {
+                    assertInstanceOf(DuplicateResourceFoundException.class, e.getCause());
+                }
+            }
+
+            assertEquals(1, created);
+            assertEquals(1, taskRepository.count());
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -1,36 +1,52 @@
 package ch.cern.todo.service;
 
+import ch.cern.todo.dto.CursorPage;
+import ch.cern.todo.dto.TaskBulkReassignRequest;
+import ch.cern.todo.dto.TaskBulkRequest;
+import ch.cern.todo.dto.TaskBulkResponse;
 import ch.cern.todo.dto.TaskCreateRequest;
-import ch.cern.todo.util.SecurityUtil;
+import ch.cern.todo.dto.TaskGroupStats;
 import ch.cern.todo.dto.TaskRequest;
 import ch.cern.todo.dto.TaskQueryParams;
 import ch.cern.todo.dto.TaskResponse;
+import ch.cern.todo.dto.TaskStatsResponse;
 import ch.cern.todo.entity.Category;
 import ch.cern.todo.entity.Task;
 import ch.cern.todo.entity.User;
 import ch.cern.todo.exceptions.DuplicateResourceFoundException;
+import ch.cern.todo.exceptions.InvalidRequestException;
 import ch.cern.todo.exceptions.ResourceNotFoundException;
 import ch.cern.todo.exceptions.UnauthorizedException;
 import ch.cern.todo.exceptions.UserNotFoundException;
 import ch.cern.todo.mapper.TaskConvertor;
-import ch.cern.todo.repository.CategoryRepository;
 import ch.cern.todo.repository.TaskRepository;
 import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CallerContext;
+import ch.cern.todo.util.FieldSelection;
+import ch.cern.todo.util.KeysetCursor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,7 +62,13 @@ class TaskServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private SearchService searchService;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private ModificationVersions modificationVersions;
 
     @InjectMocks
     private TaskService taskService;
@@ -57,35 +79,102 @@ class TaskServiceTest {
         final TaskQueryParams requestParams = new TaskQueryParams();
         requestParams.setCreatedBy(username);
 
-        final Task task = Task.builder()
-                .id(1L)
-                .createdBy(
-                        User.builder()
-                                .id(1L)
-                                .username(username)
-                                .build())
-                .build();
         final TaskResponse taskResponse = new TaskResponse(1L, "Task 1", "Description", username, LocalDate.now(), "Personal");
 
-        final Authentication mockAuth = mock(Authentication.class);
-        lenient().when(mockAuth.getName()).thenReturn(username);
-        lenient().when(mockAuth.getAuthorities()).thenAnswer(invocation -> List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        final CallerContext caller = new CallerContext(1L, username, false);
+
+        when(taskRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(List.of(taskResponse));
+
+        final CursorPage<TaskResponse> result = taskService.getAllTasks(requestParams, caller);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("Task 1", result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+
+        verify(taskRepository, times(1)).findAllResponses(any(Specification.class), eq(Sort.by("createdBy.id", "id")), eq(101), eq(FieldSelection.ALL));
+        verifyNoInteractions(taskConvertor);
+    }
+
+    @Test
+    void shouldReturnNextCursor_whenMoreTasksThanLimit() {
+        final String username = "user";
+        final TaskQueryParams requestParams = new TaskQueryParams();
+        requestParams.setLimit(2);
+        requestParams.setSort("deadline");
+        final CallerContext caller = new CallerContext(1L, username, false);
+
+        final TaskResponse first = TaskResponse.builder().id(1L).deadline(LocalDate.of(2030, 1, 1)).build();
+        final TaskResponse second = TaskResponse.builder().id(2L).deadline(LocalDate.of(2030, 1, 2)).build();
+        final TaskResponse third = TaskResponse.builder().id(3L).deadline(LocalDate.of(2030, 1, 3)).build();
+
+        when(taskRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(List.of(first, second, third));
+
+        final CursorPage<TaskResponse> result = taskService.getAllTasks(requestParams, caller);
+
+        assertEquals(2, result.getItems().size());
+        assertNotNull(result.getNextCursor());
+        verify(taskRepository).findAllResponses(any(Specification.class), eq(Sort.by("createdBy.id", "deadline", "id")), eq(3), any(FieldSelection.class));
+        verify(taskRepository, never()).count(any(Specification.class));
+
+        requestParams.setAfter(result.getNextCursor());
+        when(taskRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(List.of(third));
+
+        final CursorPage<TaskResponse> lastPage = taskService.getAllTasks(requestParams, caller);
+
+        assertEquals(1, lastPage.getItems().size());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void shouldCountTotalOnFirstPageOnly_whenTotalIsRequested() {
+        final TaskQueryParams requestParams = new TaskQueryParams();
+        requestParams.setIncludeTotal(true);
+        final CallerContext caller = new CallerContext(1L, "user", false);
+
+        when(taskRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(List.of());
+        when(taskRepository.count(any(Specification.class))).thenReturn(42L);
+
+        assertEquals(42L, taskService.getAllTasks(requestParams, caller).getTotalCount());
+
+        requestParams.setAfter(new KeysetCursor("id", null, 3L).encode());
+
+        assertNull(taskService.getAllTasks(requestParams, caller).getTotalCount());
+        verify(taskRepository, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    void shouldSelectRequestedFieldsWithIdAndSortKey_whenFieldsAreGiven() {
+        final TaskQueryParams requestParams = new TaskQueryParams();
+        requestParams.setSort("deadline");
+        requestParams.setFields("name, category");
+
+        when(taskRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(List.of());
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getAuthentication).thenReturn(mockAuth);
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn(username);
+        taskService.getAllTasks(requestParams, new CallerContext(1L, "user", false));
+
+        verify(taskRepository).findAllResponses(any(Specification.class), any(Sort.class), anyInt(),
+                eq(new FieldSelection(Set.of("id", "deadline", "name", "category"))));
+    }
 
-            when(taskRepository.findAll(any(Specification.class))).thenReturn(List.of(task));
-            when(taskConvertor.convertToTaskResponse(any(Task.class))).thenReturn(taskResponse);
+    @Test
+    void shouldThrowInvalidRequestException_whenFieldIsUnknown() {
+        final TaskQueryParams requestParams = new TaskQueryParams();
+        requestParams.setFields("name,owner");
 
-            final List<TaskResponse> result = taskService.getAllTasks(requestParams);
+        assertThrows(InvalidRequestException.class,
+                () -> taskService.getAllTasks(requestParams, new CallerContext(1L, "user", false)));
+        verify(taskRepository, never()).findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class));
+    }
 
-            assertEquals(1, result.size());
-            assertEquals("Task 1", result.get(0).getName());
+    @Test
+    void shouldRejectCursor_whenProducedForAnotherSort() {
+        final TaskQueryParams requestParams = new TaskQueryParams();
+        requestParams.setSort("deadline");
+        requestParams.setAfter(new KeysetCursor("id", null, 3L).encode());
 
-            verify(taskRepository, times(1)).findAll(any(Specification.class));
-            verify(taskConvertor, times(1)).convertToTaskResponse(any(Task.class));
-        }
+        assertThrows(InvalidRequestException.class,
+                () -> taskService.getAllTasks(requestParams, new CallerContext(1L, "user", false)));
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
@@ -95,61 +184,121 @@ class TaskServiceTest {
         final TaskQueryParams requestParams = new TaskQueryParams();
         requestParams.setCreatedBy(otherUser);
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::getLoggedInUsername).thenReturn(loggedInUser);
+        final CallerContext caller = new CallerContext(1L, loggedInUser, false);
+
+        final UnauthorizedException thrownException = assertThrows(
+                UnauthorizedException.class,
+                () -> taskService.getAllTasks(requestParams, caller)
+        );
+
+        assertEquals("You are not allowed to see tasks created by " + otherUser + "!", thrownException.getMessage());
+    }
 
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
+    @Test
+    void shouldReturnNearestDeadlinesFromToday_whenListingTasksDueSoon() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+        final TaskQueryParams requestParams = new TaskQueryParams();
+        final List<TaskResponse> tasks = List.of(TaskResponse.builder().id(3L).deadline(LocalDate.now()).build());
 
-            final UnauthorizedException thrownException = assertThrows(
-                    UnauthorizedException.class,
-                    () -> taskService.getAllTasks(requestParams)
-            );
+        when(taskRepository.findAllResponses(any(Specification.class), any(Sort.class), anyInt(), any(FieldSelection.class))).thenReturn(tasks);
 
-            assertEquals("You are not allowed to see tasks created by " + otherUser + "!", thrownException.getMessage());
-        }
+        assertEquals(tasks, taskService.getDueSoonTasks(requestParams, caller));
+        assertEquals(LocalDate.now(), requestParams.getDeadlineFrom());
+        assertEquals("user", requestParams.getCreatedBy());
+        verify(taskRepository, times(1)).findAllResponses(any(Specification.class), eq(Sort.by("createdBy.id", "deadline", "id")), eq(20), any(FieldSelection.class));
+    }
+
+    @Test
+    void shouldRejectDueSoonRequest_whenLimitOrRangeIsInvalid() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+        final TaskQueryParams tooMany = new TaskQueryParams();
+        tooMany.setLimit(101);
+        final TaskQueryParams invertedRange = new TaskQueryParams();
+        invertedRange.setDeadlineFrom(LocalDate.of(2030, 2, 1));
+        invertedRange.setDeadlineTo(LocalDate.of(2030, 1, 1));
+
+        assertThrows(InvalidRequestException.class, () -> taskService.getDueSoonTasks(tooMany, caller));
+        assertThrows(InvalidRequestException.class, () -> taskService.getDueSoonTasks(invertedRange, caller));
+        assertThrows(InvalidRequestException.class, () -> taskService.getAllTasks(invertedRange, caller));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shouldSumCategoryCountsWithoutGroupingByOwner_whenStatsAreRestrictedToCaller() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+        when(taskRepository.countByCategory(any(Specification.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(
+                new TaskGroupStats("Personal", 4L, 1L, 2L),
+                new TaskGroupStats("Work", 6L, 2L, 1L)));
+
+        final TaskStatsResponse stats = taskService.getTaskStats(new TaskQueryParams(), caller);
+
+        assertEquals(10, stats.getTotal());
+        assertEquals(3, stats.getOverdue());
+        assertEquals(7, stats.getUpcoming());
+        assertEquals(3, stats.getDueThisWeek());
+        assertEquals(1, stats.getByOwner().size());
+        assertEquals("user", stats.getByOwner().get(0).getName());
+        assertEquals(10, stats.getByOwner().get(0).getTotal());
+        verify(taskRepository, never()).countByOwner(any(), any(), any());
+    }
+
+    @Test
+    void shouldGroupByOwner_whenAdminRequestsStatsOfEveryone() {
+        final CallerContext admin = new CallerContext(1L, "admin", true);
+        final List<TaskGroupStats> byOwner = List.of(new TaskGroupStats("admin", 1L, 0L, 0L), new TaskGroupStats("user", 2L, 1L, 1L));
+        when(taskRepository.countByCategory(any(Specification.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(new TaskGroupStats("Work", 3L, 1L, 1L)));
+        when(taskRepository.countByOwner(any(Specification.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(byOwner);
+
+        final TaskStatsResponse stats = taskService.getTaskStats(new TaskQueryParams(), admin);
+
+        assertEquals(3, stats.getTotal());
+        assertEquals(byOwner, stats.getByOwner());
     }
 
     @Test
     void shouldCreateTaskSuccessfully_whenValidRequest() {
         final String username = "user";
         final TaskCreateRequest taskRequest = new TaskCreateRequest("Task 1", "Description", LocalDate.now(),"Personal");
+        final CallerContext caller = new CallerContext(1L, username, false);
 
-        final User user = User.builder().username(username).build();
+        final User user = User.builder().id(1L).username(username).build();
         final Category category = Category.builder().name("Personal").build();
         final Task taskToSave = Task.builder().id(1L).name("Task 1").description("Description").createdBy(user).category(category).build();
         final TaskResponse expectedResponse = new TaskResponse(1L, "Task 1", "Description", username, LocalDate.now(), "Personal");
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(categoryRepository.findByName(taskRequest.getCategory())).thenReturn(Optional.of(category));
-        when(taskRepository.findByNameAndCategoryAndCreatedBy(taskRequest.getName(), category, user)).thenReturn(Optional.empty());
-        when(taskConvertor.convertToTaskEntity(taskRequest, user, category)).thenReturn(taskToSave);
-        when(taskRepository.save(taskToSave)).thenReturn(taskToSave);
+        when(categoryCache.findByName(taskRequest.getCategory())).thenReturn(Optional.of(category));
+        when(taskConvertor.convertToTaskEntity(eq(taskRequest), any(User.class), eq(category))).thenReturn(taskToSave);
+        when(taskRepository.saveAndFlush(taskToSave)).thenReturn(taskToSave);
         when(taskConvertor.convertToTaskResponse(taskToSave)).thenReturn(expectedResponse);
 
-        final TaskResponse actualResponse = taskService.createTask(taskRequest, username);
+        final TaskResponse actualResponse = taskService.createTask(taskRequest, caller);
 
         assertEquals(expectedResponse, actualResponse);
-        verify(userRepository, times(1)).findByUsername(username);
-        verify(categoryRepository, times(1)).findByName(taskRequest.getCategory());
-        verify(taskRepository, times(1)).findByNameAndCategoryAndCreatedBy(taskRequest.getName(), category, user);
-        verify(taskRepository, times(1)).save(taskToSave);
+        verifyNoInteractions(userRepository);
+        verify(taskConvertor, times(1)).convertToTaskEntity(eq(taskRequest),
+                argThat(reference -> reference.getId().equals(1L) && reference.getUsername().equals(username)), eq(category));
+        verify(categoryCache, times(1)).findByName(taskRequest.getCategory());
+        verify(taskRepository, times(1)).saveAndFlush(taskToSave);
+        verifyNoMoreInteractions(taskRepository);
     }
 
     @Test
     void shouldThrowUserNotFoundException_whenUserDoesNotExist() {
         final String username = "user";
         final TaskCreateRequest taskRequest = new TaskCreateRequest("Task 1", "Description", LocalDate.now(),"Personal");
+        final CallerContext caller = new CallerContext(null, username, false);
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
         final UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
-                () -> taskService.createTask(taskRequest, username)
+                () -> taskService.createTask(taskRequest, caller)
         );
 
         assertEquals(username + " not found", exception.getMessage());
         verify(userRepository, times(1)).findByUsername(username);
-        verifyNoInteractions(categoryRepository);
+        verifyNoInteractions(categoryCache);
         verifyNoInteractions(taskRepository);
     }
 
@@ -157,20 +306,17 @@ class TaskServiceTest {
     void shouldThrowResourceNotFoundException_whenCategoryDoesNotExist_whenCreating() {
         final String username = "user";
         final TaskCreateRequest taskRequest = new TaskCreateRequest("Task 1", "Description", LocalDate.now(),"Personal");
+        final CallerContext caller = new CallerContext(1L, username, false);
 
-        final User user = User.builder().username(username).build();
-
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(categoryRepository.findByName(taskRequest.getCategory())).thenReturn(Optional.empty());
+        when(categoryCache.findByName(taskRequest.getCategory())).thenReturn(Optional.empty());
 
         final ResourceNotFoundException exception = assertThrows(
                 ResourceNotFoundException.class,
-                () -> taskService.createTask(taskRequest, username)
+                () -> taskService.createTask(taskRequest, caller)
         );
 
         assertEquals("Category with id : Personal not found", exception.getMessage());
-        verify(userRepository, times(1)).findByUsername(username);
-        verify(categoryRepository, times(1)).findByName(taskRequest.getCategory());
+        verify(categoryCache, times(1)).findByName(taskRequest.getCategory());
         verifyNoInteractions(taskRepository);
     }
 
@@ -178,32 +324,47 @@ class TaskServiceTest {
     void shouldThrowDuplicateResourceFoundException_whenTaskAlreadyExists() {
         final String username = "user";
         final TaskCreateRequest taskRequest = new TaskCreateRequest("Task 1", "Description", LocalDate.now(),"Personal");
+        final CallerContext caller = new CallerContext(1L, username, false);
 
-        final User user = User.builder().username(username).build();
+        final User user = User.builder().id(1L).username(username).build();
         final Category category = Category.builder().name("Personal").build();
-        final Task existingTask = Task.builder().id(1L).name("Task 1").description("Description").createdBy(user).category(category).build();
+        final Task taskToSave = Task.builder().name("Task 1").description("Description").createdBy(user).category(category).build();
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(categoryRepository.findByName(taskRequest.getCategory())).thenReturn(Optional.of(category));
-        when(taskRepository.findByNameAndCategoryAndCreatedBy(taskRequest.getName(), category, user))
-                .thenReturn(Optional.of(existingTask));
+        when(categoryCache.findByName(taskRequest.getCategory())).thenReturn(Optional.of(category));
+        when(taskConvertor.convertToTaskEntity(eq(taskRequest), any(User.class), eq(category))).thenReturn(taskToSave);
+        when(taskRepository.saveAndFlush(taskToSave)).thenThrow(constraintViolation("PUBLIC.UK_TASKS_NAME_CATEGORY_USER_INDEX_4"));
 
         final DuplicateResourceFoundException exception = assertThrows(
                 DuplicateResourceFoundException.class,
-                () -> taskService.createTask(taskRequest, username)
+                () -> taskService.createTask(taskRequest, caller)
         );
 
         assertEquals("Task with name 'Task 1' already exists.", exception.getMessage());
-        verify(userRepository, times(1)).findByUsername(username);
-        verify(categoryRepository, times(1)).findByName(taskRequest.getCategory());
-        verify(taskRepository, times(1)).findByNameAndCategoryAndCreatedBy(taskRequest.getName(), category, user);
-        verify(taskRepository, never()).save(any());
+        verify(taskRepository, times(1)).saveAndFlush(taskToSave);
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void shouldRethrowDataIntegrityViolation_whenAnotherConstraintIsViolated() {
+        final TaskCreateRequest taskRequest = new TaskCreateRequest("Task 1", "Description", LocalDate.now(),"Personal");
+        final CallerContext caller = new CallerContext(1L, "user", false);
+
+        final Category category = Category.builder().id(7L).name("Personal").build();
+        final Task taskToSave = Task.builder().name("Task 1").category(category).build();
+        final DataIntegrityViolationException violation = constraintViolation("PUBLIC.FK_TASKS_CATEGORY");
+
+        when(categoryCache.findByName(taskRequest.getCategory())).thenReturn(Optional.of(category));
+        when(taskConvertor.convertToTaskEntity(eq(taskRequest), any(User.class), eq(category))).thenReturn(taskToSave);
+        when(taskRepository.saveAndFlush(taskToSave)).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> taskService.createTask(taskRequest, caller)));
     }
 
     @Test
     void shouldUpdateTaskSuccessfully_whenUserIsAuthorized() {
         final Long taskId = 1L;
         final String username = "user";
+        final CallerContext caller = new CallerContext(1L, username, false);
         final TaskRequest taskRequest = new TaskRequest("New task", "new description", LocalDate.now(),"Personal");
 
         final User user = User.builder().username(username).build();
@@ -211,30 +372,27 @@ class TaskServiceTest {
         final Task existingTask = Task.builder().id(1L).name("Old task").description("old description").createdBy(user).category(category).build();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(categoryRepository.findByName(taskRequest.getCategory())).thenReturn(Optional.of(category));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryCache.findByName(taskRequest.getCategory())).thenReturn(Optional.of(category));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(taskConvertor.convertToTaskResponse(any(Task.class)))
                 .thenReturn(new TaskResponse(taskId, taskRequest.getName(), taskRequest.getDescription(), username, LocalDate.now(), taskRequest.getCategory()));
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            final TaskResponse updatedTask = taskService.updateTask(taskRequest, username, taskId);
+        final TaskResponse updatedTask = taskService.updateTask(taskRequest, caller, taskId);
 
-            assertEquals(taskRequest.getName(), updatedTask.getName());
-            assertEquals(taskRequest.getDescription(), updatedTask.getDescription());
-            assertEquals(taskRequest.getCategory(), updatedTask.getCategory());
+        assertEquals(taskRequest.getName(), updatedTask.getName());
+        assertEquals(taskRequest.getDescription(), updatedTask.getDescription());
+        assertEquals(taskRequest.getCategory(), updatedTask.getCategory());
 
-            verify(taskRepository, times(1)).findById(taskId);
-            verify(taskRepository, times(1)).save(existingTask);
-            verify(categoryRepository, times(1)).findByName(taskRequest.getCategory());
-        }
+        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).saveAndFlush(existingTask);
+        verify(categoryCache, times(1)).findByName(taskRequest.getCategory());
     }
 
     @Test
     void shouldThrowUnauthorizedException_whenUserTriesToUpdateOthersTask() {
         final Long taskId = 1L;
         final String username = "user1";
+        final CallerContext caller = new CallerContext(1L, username, false);
         final String anotherUser = "user2";
         final TaskRequest taskRequest = new TaskRequest("New task", "new description", LocalDate.now(),"Personal");
 
@@ -244,25 +402,22 @@ class TaskServiceTest {
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            final UnauthorizedException thrownException = assertThrows(
-                    UnauthorizedException.class,
-                    () -> taskService.updateTask(taskRequest, username, taskId)
-            );
+        final UnauthorizedException thrownException = assertThrows(
+                UnauthorizedException.class,
+                () -> taskService.updateTask(taskRequest, caller, taskId)
+        );
 
-            assertEquals("You are not allowed to update this task!", thrownException.getMessage());
+        assertEquals("You are not allowed to update this task!", thrownException.getMessage());
 
-            verify(taskRepository, times(1)).findById(taskId);
-            verify(taskRepository, never()).save(any());
-        }
+        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void shouldThrowResourceNotFoundException_whenCategoryDoesNotExist_whenUpdating() {
         final Long taskId = 1L;
         final String username = "user";
+        final CallerContext caller = new CallerContext(1L, username, false);
         final TaskRequest taskRequest = new TaskRequest("New task", "new description", LocalDate.now(),"NonExisting Category");
 
         final User user = User.builder().username(username).build();
@@ -270,98 +425,92 @@ class TaskServiceTest {
         final Task existingTask = Task.builder().id(1L).name("Old task").description("old description").createdBy(user).category(category).build();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(categoryRepository.findByName(taskRequest.getCategory())).thenReturn(Optional.empty());
+        when(categoryCache.findByName(taskRequest.getCategory())).thenReturn(Optional.empty());
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            final ResourceNotFoundException thrownException = assertThrows(
-                    ResourceNotFoundException.class,
-                    () -> taskService.updateTask(taskRequest, username, taskId)
-            );
+        final ResourceNotFoundException thrownException = assertThrows(
+                ResourceNotFoundException.class,
+                () -> taskService.updateTask(taskRequest, caller, taskId)
+        );
 
-            assertEquals("Category with id : NonExisting Category not found", thrownException.getMessage());
+        assertEquals("Category with id : NonExisting Category not found", thrownException.getMessage());
 
-            verify(taskRepository, times(1)).findById(taskId);
-            verify(categoryRepository, times(1)).findByName(taskRequest.getCategory());
-            verify(taskRepository, never()).save(any());
-        }
+        verify(taskRepository, times(1)).findById(taskId);
+        verify(categoryCache, times(1)).findByName(taskRequest.getCategory());
+        verify(taskRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void shouldThrowEntityNotFoundException_whenTaskDoesNotExist_whenUpdating() {
         final Long taskId = 999L;
         final String username = "user";
+        final CallerContext caller = new CallerContext(1L, username, false);
         final TaskRequest taskRequest = new TaskRequest("Updated task", "updated description", LocalDate.now(),"Personal");
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
 
         final ResourceNotFoundException thrownException = assertThrows(
                 ResourceNotFoundException.class,
-                () -> taskService.updateTask(taskRequest, username, taskId)
+                () -> taskService.updateTask(taskRequest, caller, taskId)
         );
 
         assertEquals("Task with id : 999 not found", thrownException.getMessage());
 
         verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, never()).save(any());
-        verifyNoInteractions(categoryRepository);
+        verify(taskRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(categoryCache);
     }
 
     @Test
     void shouldDeleteTaskSuccessfully_whenUserIsAuthorized() {
         final Long taskId = 1L;
         final String username = "user";
+        final CallerContext caller = new CallerContext(1L, username, false);
         final User user = User.builder().username(username).build();
         final Task existingTask = Task.builder().id(1L).name("Task").description("Description").createdBy(user).build();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            taskService.deleteTask(username, taskId);
+        taskService.deleteTask(caller, taskId);
 
-            verify(taskRepository, times(1)).findById(taskId);
-            verify(taskRepository, times(1)).delete(existingTask);
-        }
+        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).delete(existingTask);
+        verify(searchService, times(1)).removeTask(taskId);
+        verify(modificationVersions, times(1)).tasksChanged(username);
     }
 
     @Test
     void shouldThrowUnauthorizedException_whenUserTriesToDeleteOthersTask() {
         final Long taskId = 1L;
         final String username = "user1";
+        final CallerContext caller = new CallerContext(1L, username, false);
         final String anotherUser = "user2";
         final User taskOwner = User.builder().username(anotherUser).build();
         final Task existingTask = Task.builder().id(1L).name("Task").description("Description").createdBy(taskOwner).build();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
 
-        try (final MockedStatic<SecurityUtil> mockedSecurity = mockStatic(SecurityUtil.class)) {
-            mockedSecurity.when(SecurityUtil::isNotAdmin).thenReturn(true);
-
-            final UnauthorizedException thrownException = assertThrows(
-                    UnauthorizedException.class,
-                    () -> taskService.deleteTask(username, taskId)
-            );
+        final UnauthorizedException thrownException = assertThrows(
+                UnauthorizedException.class,
+                () -> taskService.deleteTask(caller, taskId)
+        );
 
-            assertEquals("You are not allowed to delete this category!", thrownException.getMessage());
+        assertEquals("You are not allowed to delete this category!", thrownException.getMessage());
 
-            verify(taskRepository, times(1)).findById(taskId);
-            verify(taskRepository, never()).delete((Task) any());
-        }
+        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, never()).delete((Task) any());
     }
 
     @Test
     void shouldThrowEntityNotFoundException_whenTaskDoesNotExist_whenDeleting() {
         final Long taskId = 99L;
         final String username = "user";
+        final CallerContext caller = new CallerContext(1L, username, false);
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
 
         final ResourceNotFoundException thrownException = assertThrows(
                 ResourceNotFoundException.class,
-                () -> taskService.deleteTask(username, taskId)
+                () -> taskService.deleteTask(caller, taskId)
         );
 
         assertEquals("Task with id : 99 not found", thrownException.getMessage());
@@ -369,4 +518,101 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findById(taskId);
         verify(taskRepository, never()).delete(any(Task.class));
     }
+
+    @Test
+    void shouldDeleteMatchingTasksInOneStatement_whenBulkDeleting() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+        final TaskBulkRequest request = TaskBulkRequest.builder().name("old").build();
+
+        when(taskRepository.findIds(any(Specification.class))).thenReturn(List.of(4L, 7L));
+        when(taskRepository.delete(any(Specification.class))).thenReturn(2L);
+
+        final TaskBulkResponse response = taskService.deleteTasks(request, caller);
+
+        assertEquals(2L, response.getAffected());
+        verify(taskRepository, times(1)).delete(any(Specification.class));
+        verify(taskRepository, never()).findById(any());
+        verify(searchService, times(1)).reindexTasks(List.of(4L, 7L));
+        verify(modificationVersions, times(1)).tasksChanged("user");
+        verify(modificationVersions, never()).allTasksChanged();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldDeleteInChunks_whenManyTasksMatch() {
+        final CallerContext caller = new CallerContext(1L, "admin", true);
+        final TaskBulkRequest request = TaskBulkRequest.builder().deadline(LocalDate.of(2025, 1, 1)).build();
+        final List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        when(taskRepository.findIds(any(Specification.class))).thenReturn(ids);
+        when(taskRepository.delete(any(Specification.class))).thenReturn(1000L, 1000L, 500L);
+
+        final TaskBulkResponse response = taskService.deleteTasks(request, caller);
+
+        assertEquals(2500L, response.getAffected());
+        verify(taskRepository, times(3)).delete(any(Specification.class));
+        verify(searchService, times(1)).reindexTasks(ids);
+        verify(modificationVersions, times(1)).allTasksChanged();
+    }
+
+    @Test
+    void shouldRejectBulkDelete_whenNoCriteriaGiven() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+
+        assertThrows(InvalidRequestException.class, () -> taskService.deleteTasks(new TaskBulkRequest(), caller));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shouldThrowUnauthorizedException_whenUserReassignsOthersTasks() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+        final TaskBulkReassignRequest request = TaskBulkReassignRequest.builder().createdBy("admin").targetCategory("Work").build();
+        final Category work = Category.builder().id(3L).name("Work").build();
+
+        when(categoryCache.findByName("Work")).thenReturn(Optional.of(work));
+
+        assertThrows(UnauthorizedException.class, () -> taskService.reassignTasks(request, caller));
+        verify(taskRepository, never()).updateCategory(any(), any());
+    }
+
+    @Test
+    void shouldReindexMovedTasks_whenReassigningTasksOfCategory() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+        final TaskBulkReassignRequest request = TaskBulkReassignRequest.builder().category("Personal").targetCategory("Work").build();
+
+        when(categoryCache.findByName("Work")).thenReturn(Optional.of(Category.builder().id(3L).name("Work").build()));
+        when(categoryCache.findByName("Personal")).thenReturn(Optional.of(Category.builder().id(2L).name("Personal").build()));
+        when(taskRepository.findIds(any(Specification.class))).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(taskRepository.updateCategory(any(Specification.class), eq(3L))).thenReturn(5);
+
+        final TaskBulkResponse response = taskService.reassignTasks(request, caller);
+
+        assertEquals(5L, response.getAffected());
+        verify(searchService, times(1)).reindexTasks(List.of(1L, 2L, 3L, 4L, 5L));
+    }
+
+    @Test
+    void shouldThrowDuplicateResourceFoundException_whenReassignedTaskNameIsTakenInTargetCategory() {
+        final CallerContext caller = new CallerContext(1L, "user", false);
+        final TaskBulkReassignRequest request = TaskBulkReassignRequest.builder().category("Personal").targetCategory("Work").build();
+
+        when(categoryCache.findByName("Work")).thenReturn(Optional.of(Category.builder().id(3L).name("Work").build()));
+        when(categoryCache.findByName("Personal")).thenReturn(Optional.of(Category.builder().id(2L).name("Personal").build()));
+        when(taskRepository.findIds(any(Specification.class))).thenReturn(List.of(1L));
+        when(taskRepository.updateCategory(any(Specification.class), eq(3L)))
+                .thenThrow(constraintViolation("PUBLIC.UK_TASKS_NAME_CATEGORY_USER_INDEX_4"));
+
+        final DuplicateResourceFoundException exception = assertThrows(
+                DuplicateResourceFoundException.class,
+                () -> taskService.reassignTasks(request, caller)
+        );
+
+        assertEquals("A task with the same name in category 'Work' already exists.", exception.getMessage());
+        verifyNoInteractions(searchService, modificationVersions);
+    }
+
+    private static DataIntegrityViolationException constraintViolation(final String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"), constraintName));
+    }
 }
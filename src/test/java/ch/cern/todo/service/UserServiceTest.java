@@ -0,0 +1,40 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.entity.User;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CredentialCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private CredentialCache credentialCache;
+
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    void shouldEvictCachedCredentials_whenPasswordIsRehashed() {
+        final User user = User.builder().id(1L).username("user").password("old").role("ROLE_USER").build();
+
+        userService.updatePassword(user, "new");
+
+        assertEquals("new", user.getPassword());
+        verify(userRepository).updatePassword("user", "new");
+        verify(credentialCache).invalidate(1L);
+    }
+}